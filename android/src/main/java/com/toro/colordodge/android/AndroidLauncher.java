@@ -1,19 +1,46 @@
 package com.toro.colordodge.android;
 
+import android.app.ActivityManager;
 import android.os.Bundle;
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.toro.colordodge.MainGame;
+import com.toro.colordodge.assets.ResourceRegistry;
 
 public class AndroidLauncher extends AndroidApplication {
+
+    private TiltSensorListener tiltSensor;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        MainGame game = new MainGame();
+        // The accelerometer goes straight to the game's input queue, so libGDX doesn't need to poll it.
+        tiltSensor = new TiltSensorListener(this, game.getInput());
+        game.getInput().setExternalTilt(tiltSensor.isAvailable());
+        // Lets the frame governor lower the FPS when the device is hot or the battery is low.
+        game.setPowerState(new AndroidPowerState(this));
+        // Low-RAM devices get a smaller GPU budget; unused screen images are unloaded above it.
+        ActivityManager activityManager = (ActivityManager) getSystemService(ACTIVITY_SERVICE);
+        game.setGpuBudget(ResourceRegistry.defaultGpuBudget(activityManager.isLowRamDevice()));
+
         AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-        config.useAccelerometer = true;
+        config.useAccelerometer = !tiltSensor.isAvailable();
         config.useCompass = false;
 
-        initialize(new MainGame(), config);
+        initialize(game, config);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        tiltSensor.register();
+    }
+
+    @Override
+    protected void onPause() {
+        tiltSensor.unregister();
+        super.onPause();
     }
 }
@@ -0,0 +1,42 @@
+package com.toro.colordodge.android;
+
+import android.content.Context;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+import com.toro.colordodge.render.FrameGovernor;
+
+/**
+ * Temperatura y batería del dispositivo para FrameGovernor
+ * El estado térmico existe desde Android 10; antes se informa siempre normal
+ */
+class AndroidPowerState implements FrameGovernor.PowerState {
+
+    private static final int LOW_BATTERY_PERCENT = 15;
+
+    private final PowerManager powerManager;
+    private final BatteryManager batteryManager;
+
+    AndroidPowerState(Context context) {
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        batteryManager = (BatteryManager) context.getSystemService(Context.BATTERY_SERVICE);
+    }
+
+    @Override
+    public int thermalLevel() {
+        if (powerManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return 0;
+        int status = powerManager.getCurrentThermalStatus();
+        if (status >= PowerManager.THERMAL_STATUS_SEVERE) return 2;
+        if (status >= PowerManager.THERMAL_STATUS_LIGHT) return 1;
+        return 0;
+    }
+
+    @Override
+    public boolean isPowerSaving() {
+        if (powerManager != null && powerManager.isPowerSaveMode()) return true;
+        if (batteryManager == null) return false;
+        int percent = batteryManager.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY);
+        boolean charging = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M && batteryManager.isCharging();
+        return percent > 0 && percent <= LOW_BATTERY_PERCENT && !charging;
+    }
+}
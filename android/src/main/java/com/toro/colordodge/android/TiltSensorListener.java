@@ -0,0 +1,51 @@
+package com.toro.colordodge.android;
+
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import com.toro.colordodge.input.GameInput;
+
+/**
+ * Entrega el acelerómetro a GameInput apenas llega cada muestra, en vez de que
+ * el juego lo consulte una vez por frame. Corre en el hilo del sensor; GameInput
+ * lo recibe en una cola sin bloqueos. Pide la frecuencia de juego (~50 Hz o más)
+ */
+class TiltSensorListener implements SensorEventListener {
+
+    private final SensorManager sensorManager;
+    private final Sensor accelerometer;
+    private final GameInput input;
+
+    TiltSensorListener(Context context, GameInput input) {
+        this.input = input;
+        sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
+        accelerometer = sensorManager != null ? sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER) : null;
+    }
+
+    boolean isAvailable() {
+        return accelerometer != null;
+    }
+
+    void register() {
+        if (accelerometer != null) {
+            sensorManager.registerListener(this, accelerometer, SensorManager.SENSOR_DELAY_GAME);
+        }
+    }
+
+    void unregister() {
+        if (accelerometer != null) sensorManager.unregisterListener(this);
+    }
+
+    @Override
+    public void onSensorChanged(SensorEvent event) {
+        // Se usa System.nanoTime() al recibirla (no event.timestamp, que usa otro reloj)
+        // para medir la latencia con el mismo reloj que el juego
+        input.pushTilt(System.nanoTime(), event.values[0]);
+    }
+
+    @Override
+    public void onAccuracyChanged(Sensor sensor, int accuracy) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.toro.colordodge.balancing;
+
+import com.toro.colordodge.sim.GameConfig;
+import com.toro.colordodge.sim.GameSimulation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Herramienta de línea de comandos para ajustar la dificultad
+ * <p>
+ * Juega muchas partidas sin gráficos con un bot, en todos los núcleos, para
+ * cada combinación de parámetros del barrido, y escribe en CSV la distribución
+ * del tiempo sobrevivido y del puntaje:
+ * <ul>
+ * <li>&lt;out&gt;-summary.csv: promedio y percentiles por combinación</li>
+ * <li>&lt;out&gt;-histogram.csv: histograma (segundos sobrevividos y puntaje)</li>
+ * <li>&lt;out&gt;-scaling.csv: con --scaling, partidas por segundo según la cantidad de hilos</li>
+ * </ul>
+ * Ejemplo: gradlew balancing:run --args="--games 200000 --sweep spawnInterval=0.6,0.8 --sweep greenChance=0.1,0.2"
+ */
+public final class BalancingRunner {
+
+    private static final String USAGE = String.join("\n",
+        "Opciones:",
+        "  --games N          partidas por combinación (10000)",
+        "  --bot NOMBRE       idle, zigzag, dodger o script:<repetición.cdr> (dodger)",
+        "  --max-seconds S    corta las partidas que duran más (300)",
+        "  --threads T        hilos del pool (todos los núcleos)",
+        "  --seed S           semilla base (1)",
+        "  --world W,H        tamaño del mundo en píxeles (1080,1920)",
+        "  --sweep P=v1,v2    barre un parámetro de GameConfig (se puede repetir)",
+        "  --out PREFIJO      prefijo de los archivos CSV (balancing)",
+        "  --scaling          mide la escala con 1, 2, 4... hilos en la primera combinación");
+
+    // === OPCIONES ===
+    private int games = 10_000;
+    private String botName = "dodger";
+    private int maxSeconds = 300;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1;
+    private float worldWidth = 1080, worldHeight = 1920;
+    private final ParameterSweep sweep = new ParameterSweep();
+    private String out = "balancing";
+    private boolean scaling;
+
+    private BalancingRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        BalancingRunner runner = new BalancingRunner();
+        try {
+            if (!runner.parse(args)) {
+                System.out.println(USAGE);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        runner.run();
+    }
+
+    private boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help")) return false;
+            if (option.equals("--scaling")) {
+                scaling = true;
+                continue;
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Falta el valor de " + option);
+            String value = args[++i];
+            switch (option) {
+                case "--games": games = Integer.parseInt(value); break;
+                case "--bot": botName = value; break;
+                case "--max-seconds": maxSeconds = Integer.parseInt(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--world": {
+                    String[] size = value.split(",");
+                    worldWidth = Float.parseFloat(size[0]);
+                    worldHeight = Float.parseFloat(size[1]);
+                    break;
+                }
+                case "--sweep": sweep.add(value); break;
+                case "--out": out = value; break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + option);
+            }
+        }
+        return true;
+    }
+
+    private void run() throws IOException {
+        Bot bot = Bot.forName(botName);
+        List<ParameterSweep.Variant> variants = sweep.variants(new GameConfig(worldWidth, worldHeight));
+        String header = String.join(",", sweep.getNames());
+        String prefix = header.isEmpty() ? "" : header + ",";
+        int maxTicks = maxSeconds * GameSimulation.TICK_RATE;
+        System.out.printf(Locale.ROOT, "%d combinaciones x %d partidas, bot %s, %d hilos%n",
+            variants.size(), games, botName, threads);
+
+        try (PrintWriter summary = csv(out + "-summary.csv");
+             PrintWriter histogram = csv(out + "-histogram.csv")) {
+            summary.println(prefix + "bot,games,survival_mean_s,survival_p10_s,survival_p50_s,survival_p90_s,"
+                + "survival_p99_s,survived_max_pct,score_mean,score_p50,score_p90,score_p99,score_max");
+            histogram.println(prefix + "metric,bucket,count");
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (ParameterSweep.Variant variant : variants) {
+                int[] survivalTicks = new int[games];
+                int[] scores = new int[games];
+                long start = System.nanoTime();
+                pool.invoke(new GameBatch(variant.config, bot, seed, maxTicks, 0, games, survivalTicks, scores));
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                Distribution survival = new Distribution(survivalTicks);
+                Distribution score = new Distribution(scores);
+                String values = variant.values.length == 0 ? "" : String.join(",", variant.values) + ",";
+                float tickRate = GameSimulation.TICK_RATE;
+                summary.printf(Locale.ROOT, "%s%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.3f,%.2f,%d,%d,%d,%d%n",
+                    values, botName, games, survival.mean() / tickRate,
+                    survival.percentile(10) / tickRate, survival.percentile(50) / tickRate,
+                    survival.percentile(90) / tickRate, survival.percentile(99) / tickRate,
+                    100.0 * survival.countAtLeast(maxTicks) / games,
+                    score.mean(), score.percentile(50), score.percentile(90), score.percentile(99), score.max());
+
+                // Tiempo sobrevivido en intervalos de un segundo; puntaje de a uno
+                int[] survivalCounts = survival.histogram(GameSimulation.TICK_RATE);
+                for (int b = 0; b < survivalCounts.length; b++) {
+                    if (survivalCounts[b] > 0) histogram.println(values + "survival_s," + b + "," + survivalCounts[b]);
+                }
+                int[] scoreCounts = score.histogram(1);
+                for (int b = 0; b < scoreCounts.length; b++) {
+                    if (scoreCounts[b] > 0) histogram.println(values + "score," + b + "," + scoreCounts[b]);
+                }
+
+                System.out.printf(Locale.ROOT, "%s%.2f s  %.0f partidas/s  %.1f M ticks/s  sobrevive p50 %.1f s%n",
+                    values, seconds, games / seconds, survival.mean() * games / seconds / 1e6,
+                    survival.percentile(50) / tickRate);
+            }
+            pool.shutdown();
+        }
+
+        if (scaling) measureScaling(variants.get(0).config, bot, maxTicks);
+        System.out.println("Resultados en " + out + "-*.csv");
+    }
+
+    /**
+     * Juega las mismas partidas con 1, 2, 4... hilos y compara contra un hilo
+     * Con partidas independientes la eficiencia debería quedar cerca del 100%
+     * hasta la cantidad de núcleos físicos
+     */
+    private void measureScaling(GameConfig config, Bot bot, int maxTicks) throws IOException {
+        try (PrintWriter scalingCsv = csv(out + "-scaling.csv")) {
+            scalingCsv.println("threads,seconds,games_per_s,speedup,efficiency_pct");
+            double baseRate = 0;
+            for (int t = 1; ; t = Math.min(t * 2, threads)) {
+                ForkJoinPool pool = new ForkJoinPool(t);
+                int[] survivalTicks = new int[games];
+                int[] scores = new int[games];
+                // Una pasada de calentamiento para que el JIT compile antes de medir
+                pool.invoke(new GameBatch(config, bot, seed, maxTicks, 0, Math.min(games, 1000), survivalTicks, scores));
+                long start = System.nanoTime();
+                pool.invoke(new GameBatch(config, bot, seed, maxTicks, 0, games, survivalTicks, scores));
+                double seconds = (System.nanoTime() - start) / 1e9;
+                pool.shutdown();
+
+                double rate = games / seconds;
+                if (t == 1) baseRate = rate;
+                double speedup = rate / baseRate;
+                scalingCsv.printf(Locale.ROOT, "%d,%.3f,%.0f,%.2f,%.1f%n", t, seconds, rate, speedup, 100 * speedup / t);
+                System.out.printf(Locale.ROOT, "%3d hilos: %.0f partidas/s  x%.2f  (%.0f%%)%n",
+                    t, rate, speedup, 100 * speedup / t);
+                if (t == threads) break;
+            }
+        }
+    }
+
+    private static PrintWriter csv(String path) throws IOException {
+        return new PrintWriter(Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8));
+    }
+}
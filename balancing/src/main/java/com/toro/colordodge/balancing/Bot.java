@@ -0,0 +1,46 @@
+package com.toro.colordodge.balancing;
+
+import com.toro.colordodge.sim.GameSimulation;
+import com.toro.colordodge.sim.Replay;
+import com.toro.colordodge.sim.TickInput;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Jugador automático: decide la entrada de cada tick mirando la simulación
+ * Los bots no guardan estado propio, así una misma instancia sirve para todas
+ * las partidas y todos los hilos a la vez
+ */
+public interface Bot {
+
+    /**
+     * Entrada del próximo tick, empaquetada con TickInput.pack()
+     */
+    int input(GameSimulation simulation);
+
+    /**
+     * Bot según su nombre en la línea de comandos:
+     * idle, zigzag, dodger o script:&lt;archivo de repetición&gt;
+     */
+    static Bot forName(String name) throws IOException {
+        switch (name) {
+            case "idle":
+                return simulation -> 0;
+            case "zigzag":
+                // Cambia de lado cada 45 ticks (0,75 s)
+                return simulation -> TickInput.pack(
+                    (simulation.getTick() / 45 & 1) == 0 ? TickInput.LEFT : TickInput.RIGHT, 0);
+            case "dodger":
+                return new DodgerBot();
+            default:
+                if (name.startsWith("script:")) {
+                    try (InputStream in = new BufferedInputStream(new FileInputStream(name.substring(7)))) {
+                        return new ScriptBot(Replay.read(in));
+                    }
+                }
+                throw new IllegalArgumentException("Bot desconocido: " + name);
+        }
+    }
+}
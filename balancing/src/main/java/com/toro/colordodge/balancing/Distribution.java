@@ -0,0 +1,60 @@
+package com.toro.colordodge.balancing;
+
+import java.util.Arrays;
+
+/**
+ * Resumen de una lista de valores enteros (ticks sobrevividos o puntajes):
+ * promedio, percentiles e histograma
+ */
+final class Distribution {
+
+    private final int[] sorted;
+    private final double mean;
+
+    Distribution(int[] values) {
+        sorted = values.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (int value : sorted) total += value;
+        mean = sorted.length == 0 ? 0 : (double) total / sorted.length;
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    /**
+     * Percentil (0 a 100) por el método del rango más cercano
+     */
+    int percentile(double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    int max() {
+        return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+    }
+
+    /**
+     * Cantidad de valores mayores o iguales al indicado
+     */
+    int countAtLeast(int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            while (index > 0 && sorted[index - 1] == value) index--;
+        }
+        return sorted.length - index;
+    }
+
+    /**
+     * Cuántos valores caen en cada intervalo [i * bucketSize, (i + 1) * bucketSize)
+     */
+    int[] histogram(int bucketSize) {
+        int[] counts = new int[max() / bucketSize + 1];
+        for (int value : sorted) counts[value / bucketSize]++;
+        return counts;
+    }
+}
@@ -0,0 +1,53 @@
+package com.toro.colordodge.balancing;
+
+import com.toro.colordodge.sim.BlockWorld;
+import com.toro.colordodge.sim.GameSimulation;
+import com.toro.colordodge.sim.TickInput;
+
+/**
+ * Bot que esquiva: prueba quedarse quieto, ir a la izquierda o a la derecha y
+ * elige la opción donde menos bloques blancos lo alcanzarían (y más verdes)
+ * Solo mira los bloques que llegan a la bola en el próximo segundo; no es un
+ * jugador perfecto, pero se parece más a una persona que el zigzag
+ */
+final class DodgerBot implements Bot {
+
+    private static final float LOOKAHEAD = 1f;       // Segundos hacia adelante que mira
+    private static final float GREEN_WEIGHT = 0.3f;  // Cuánto le atraen los verdes frente a evitar blancos
+    private static final int[] DIRECTIONS = {0, TickInput.LEFT, TickInput.RIGHT};  // Empate: quedarse quieto
+
+    @Override
+    public int input(GameSimulation simulation) {
+        BlockWorld blocks = simulation.getBlocks();
+        float ballX = simulation.getBallX();
+        float ballY = simulation.getBallY();
+        float radius = simulation.getBallRadius();
+        float speed = simulation.getConfig().ballSpeed;
+        float minX = simulation.getBarX() + radius;
+        float maxX = simulation.getBarX() + simulation.getBarWidth() - radius;
+        float fallSpeed = Math.max(1f, blocks.getFallSpeed());
+        float horizon = ballY + radius + fallSpeed * LOOKAHEAD;
+
+        int best = 0;
+        float bestCost = Float.MAX_VALUE;
+        for (int buttons : DIRECTIONS) {
+            float direction = buttons == TickInput.LEFT ? -1 : buttons == TickInput.RIGHT ? 1 : 0;
+            float cost = 0;
+            for (int i = blocks.firstAbove(ballY - radius), n = blocks.size(); i < n; i++) {
+                float y = blocks.y(i);
+                if (y >= horizon) break;
+                // Tiempo hasta que el bloque llega a la bola y dónde estaría la bola entonces
+                float time = Math.max(0, (y - ballY - radius) / fallSpeed);
+                float x = Math.min(maxX, Math.max(minX, ballX + direction * speed * time));
+                if (x <= blocks.x(i) - radius || x >= blocks.x(i) + blocks.width(i) + radius) continue;
+                float urgency = 1f / (time + 0.05f);
+                cost += blocks.type(i) == BlockWorld.TYPE_WHITE ? urgency : -GREEN_WEIGHT * urgency;
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = buttons;
+            }
+        }
+        return TickInput.pack(best, 0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.toro.colordodge.balancing;
+
+import com.toro.colordodge.sim.GameConfig;
+import com.toro.colordodge.sim.GameSimulation;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Juega un rango de partidas independientes en un ForkJoinPool
+ * <p>
+ * Los rangos grandes se parten por la mitad hasta LEAF_GAMES partidas; así los
+ * hilos que terminan antes roban trabajo a los demás (las partidas duran
+ * distinto según cuándo se pierde). Cada hoja reutiliza una sola simulación y
+ * escribe en su propio tramo de los arreglos de resultados, sin bloqueos. La
+ * semilla depende solo del número de partida, así el resultado no cambia con la
+ * cantidad de hilos
+ */
+final class GameBatch extends RecursiveAction {
+
+    private static final int LEAF_GAMES = 64;
+
+    private final GameConfig config;
+    private final Bot bot;
+    private final long baseSeed;
+    private final int maxTicks;       // Partidas más largas se cortan (cuentan como sobrevividas)
+    private final int from, to;
+    private final int[] survivalTicks;
+    private final int[] scores;
+
+    GameBatch(GameConfig config, Bot bot, long baseSeed, int maxTicks, int from, int to,
+              int[] survivalTicks, int[] scores) {
+        this.config = config;
+        this.bot = bot;
+        this.baseSeed = baseSeed;
+        this.maxTicks = maxTicks;
+        this.from = from;
+        this.to = to;
+        this.survivalTicks = survivalTicks;
+        this.scores = scores;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from > LEAF_GAMES) {
+            int middle = (from + to) >>> 1;
+            invokeAll(new GameBatch(config, bot, baseSeed, maxTicks, from, middle, survivalTicks, scores),
+                new GameBatch(config, bot, baseSeed, maxTicks, middle, to, survivalTicks, scores));
+            return;
+        }
+        GameSimulation simulation = new GameSimulation(config, 0);
+        for (int game = from; game < to; game++) {
+            simulation.reset(seedFor(baseSeed, game));
+            while (!simulation.isLost() && simulation.getTick() < maxTicks) {
+                simulation.tick(bot.input(simulation));
+            }
+            survivalTicks[game] = simulation.getTick();
+            scores[game] = simulation.getScore();
+        }
+    }
+
+    /**
+     * Semilla de cada partida (SplitMix64), bien distribuida aunque las partidas sean consecutivas
+     */
+    static long seedFor(long baseSeed, int game) {
+        long z = baseSeed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,84 @@
+package com.toro.colordodge.balancing;
+
+import com.toro.colordodge.sim.GameConfig;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Barrido de parámetros de GameConfig: todas las combinaciones de los valores
+ * indicados como "nombre=v1,v2,v3" (por ejemplo spawnInterval=0.6,0.8,1.0)
+ * Los nombres son los campos públicos de GameConfig
+ */
+final class ParameterSweep {
+
+    /** Una combinación de valores y la configuración que le corresponde */
+    static final class Variant {
+        final GameConfig config;
+        final String[] values;     // En el mismo orden que getNames()
+
+        Variant(GameConfig config, String[] values) {
+            this.config = config;
+            this.values = values;
+        }
+    }
+
+    private final List<Field> fields = new ArrayList<>();
+    private final List<String[]> values = new ArrayList<>();
+
+    /**
+     * Agrega un parámetro a barrer, con el formato nombre=v1,v2,...
+     */
+    void add(String spec) {
+        int equals = spec.indexOf('=');
+        if (equals <= 0) throw new IllegalArgumentException("Se esperaba nombre=v1,v2,...: " + spec);
+        String name = spec.substring(0, equals);
+        Field field;
+        try {
+            field = GameConfig.class.getField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("GameConfig no tiene el parámetro " + name);
+        }
+        fields.add(field);
+        values.add(spec.substring(equals + 1).split(","));
+    }
+
+    List<String> getNames() {
+        List<String> names = new ArrayList<>(fields.size());
+        for (Field field : fields) names.add(field.getName());
+        return names;
+    }
+
+    /**
+     * Todas las combinaciones (producto cartesiano) aplicadas sobre la configuración base
+     */
+    List<Variant> variants(GameConfig base) {
+        List<Variant> variants = new ArrayList<>();
+        expand(base, 0, new String[fields.size()], variants);
+        return variants;
+    }
+
+    private void expand(GameConfig base, int index, String[] chosen, List<Variant> out) {
+        if (index == fields.size()) {
+            GameConfig config = base.copy();
+            for (int i = 0; i < chosen.length; i++) set(config, fields.get(i), chosen[i]);
+            out.add(new Variant(config, chosen.clone()));
+            return;
+        }
+        for (String value : values.get(index)) {
+            chosen[index] = value.trim();
+            expand(base, index + 1, chosen, out);
+        }
+    }
+
+    private static void set(GameConfig config, Field field, String value) {
+        try {
+            if (field.getType() == int.class) field.setInt(config, Integer.parseInt(value));
+            else field.setFloat(config, Float.parseFloat(value));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + field.getName() + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.toro.colordodge.balancing;
+
+import com.toro.colordodge.sim.GameSimulation;
+import com.toro.colordodge.sim.Replay;
+
+/**
+ * Repite las entradas de una partida grabada, sin mirar los bloques
+ * Como cada partida del barrido usa otra semilla, sirve para ver cómo le va a
+ * un recorrido fijo frente a distintas configuraciones. Al terminar la
+ * grabación la bola se queda quieta
+ */
+final class ScriptBot implements Bot {
+
+    private final int[] inputs;    // Entrada de cada tick, desplegada desde las rachas
+
+    ScriptBot(Replay replay) {
+        inputs = new int[replay.getTickCount()];
+        Replay.Cursor cursor = replay.cursor();
+        for (int i = 0; cursor.hasNext(); i++) inputs[i] = cursor.next();
+    }
+
+    @Override
+    public int input(GameSimulation simulation) {
+        int tick = simulation.getTick();
+        return tick < inputs.length ? inputs[tick] : 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.sim.BlockWorld;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Mundos de bloques de prueba para los benchmarks
+ */
+final class BenchmarkWorlds {
+
+    static final float WIDTH = 1080;        // Ancho típico de un teléfono en vertical
+    static final float BLOCK_SIZE = 80;
+    static final float ROW_SPACING = 40;    // Separación vertical media entre bloques
+
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * Alto del mundo para "count" bloques con la densidad de una partida normal
+     * (así al crecer la cantidad de bloques crece el mundo, no la densidad)
+     */
+    static float heightFor(int count) {
+        return Math.max(1920, count * ROW_SPACING);
+    }
+
+    /**
+     * Crea un mundo con "count" bloques repartidos al azar (semilla fija)
+     */
+    static BlockWorld create(int count) {
+        BlockWorld world = new BlockWorld(count);
+        Random random = new Random(42);
+        float height = heightFor(count);
+        float[] ys = new float[count];
+        for (int i = 0; i < count; i++) ys[i] = random.nextFloat() * height;
+        Arrays.sort(ys);  // Como en el juego: en orden add() agrega al final sin mover nada
+        for (int i = 0; i < count; i++) {
+            byte type = random.nextFloat() < 0.15f ? BlockWorld.TYPE_GREEN : BlockWorld.TYPE_WHITE;
+            world.add(random.nextFloat() * (WIDTH - BLOCK_SIZE), ys[i], BLOCK_SIZE, BLOCK_SIZE, type);
+        }
+        return world;
+    }
+}
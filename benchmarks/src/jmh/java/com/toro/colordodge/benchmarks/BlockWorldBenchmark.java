@@ -0,0 +1,74 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.sim.BlockWorld;
+import com.toro.colordodge.sim.GameSimulation;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Movimiento, limpieza y generación de bloques (lo que hace cada tick sobre BlockWorld)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockWorldBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int blocks;
+
+    private BlockWorld world;        // Mundo lleno para step y cull
+    private BlockWorld spawnWorld;   // Mundo que se vacía y se vuelve a llenar
+    private float[] spawnX;          // Posiciones precalculadas para no medir el Random
+    private float direction = 1;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = BenchmarkWorlds.create(blocks);
+        spawnWorld = new BlockWorld(blocks);
+        spawnX = new float[blocks];
+        Random random = new Random(7);
+        for (int i = 0; i < blocks; i++) spawnX[i] = random.nextFloat() * (BenchmarkWorlds.WIDTH - BenchmarkWorlds.BLOCK_SIZE);
+    }
+
+    /**
+     * Un tick de caída; alterna la dirección para que los bloques no se vayan del mundo
+     */
+    @Benchmark
+    public BlockWorld step() {
+        world.setFallSpeed(450f * direction);
+        direction = -direction;
+        world.step(GameSimulation.TICK_TIME);
+        return world;
+    }
+
+    /**
+     * Recorrido completo de limpieza sin quitar bloques (el caso de casi todos los ticks)
+     */
+    @Benchmark
+    public int cull() {
+        return world.cull(-Float.MAX_VALUE);
+    }
+
+    /**
+     * Agregar "blocks" bloques en la parte superior a un mundo vacío
+     */
+    @Benchmark
+    public int spawn() {
+        BlockWorld world = spawnWorld;
+        world.clear();
+        float top = BenchmarkWorlds.heightFor(blocks);
+        for (int i = 0, n = blocks; i < n; i++) {
+            world.add(spawnX[i], top + i, BenchmarkWorlds.BLOCK_SIZE, BenchmarkWorlds.BLOCK_SIZE, BlockWorld.TYPE_WHITE);
+        }
+        return world.size();
+    }
+}
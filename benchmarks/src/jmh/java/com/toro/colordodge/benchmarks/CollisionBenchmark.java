@@ -0,0 +1,71 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.sim.BlockWorld;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Colisión bola contra bloques: barrido por Y de BlockWorld contra revisar todos
+ * La densidad de bloques es la misma en todos los casos, así que el barrido
+ * debería mantenerse plano de 10 a 100k bloques y el recorrido completo no
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark {
+
+    private static final float RADIUS = 40;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int blocks;
+
+    private BlockWorld world;
+    private float ballX, ballY;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = BenchmarkWorlds.create(blocks);
+        ballX = BenchmarkWorlds.WIDTH / 2;
+        ballY = BenchmarkWorlds.heightFor(blocks) * 0.35f;
+    }
+
+    /**
+     * Lo que hace GameSimulation: búsqueda binaria y solo los bloques a la altura de la bola
+     */
+    @Benchmark
+    public int sweepAndPrune() {
+        BlockWorld world = this.world;
+        int hits = 0;
+        for (int i = world.nextCircleHit(world.firstAbove(ballY - RADIUS), ballX, ballY, RADIUS); i >= 0;
+             i = world.nextCircleHit(i + 1, ballX, ballY, RADIUS)) {
+            hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Referencia: prueba círculo contra rectángulo con todos los bloques
+     */
+    @Benchmark
+    public int bruteForce() {
+        BlockWorld world = this.world;
+        float cx = ballX, cy = ballY, radius2 = RADIUS * RADIUS;
+        int hits = 0;
+        for (int i = 0, n = world.size(); i < n; i++) {
+            float bx = world.x(i), by = world.y(i);
+            float nearestX = Math.max(bx, Math.min(cx, bx + world.width(i)));
+            float nearestY = Math.max(by, Math.min(cy, by + world.height(i)));
+            float dx = cx - nearestX, dy = cy - nearestY;
+            if (dx * dx + dy * dy < radius2) hits++;
+        }
+        return hits;
+    }
+}
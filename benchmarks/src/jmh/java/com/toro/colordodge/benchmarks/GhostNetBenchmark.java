@@ -0,0 +1,61 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.net.GhostNet;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Un paquete de la carrera de fantasmas de punta a punta por loopback:
+ * codificar, mandar por UDP, recibir y decodificar en el otro jugador
+ * Al terminar imprime el costo de codificar y decodificar por paquete (sin
+ * las llamadas al sistema) y los bytes por paquete
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GhostNetBenchmark {
+
+    private GhostNet sender;
+    private GhostNet receiver;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        sender = new GhostNet(0, 7);
+        receiver = new GhostNet(0, 7);
+        sender.setWorld(BenchmarkWorlds.WIDTH, 1920);
+        receiver.setWorld(BenchmarkWorlds.WIDTH, 1920);
+        sender.addPeer(new InetSocketAddress("127.0.0.1", receiver.getLocalPort()));
+    }
+
+    @Benchmark
+    public int packet() throws IOException {
+        // Una vuelta de la bola cada 2 segundos; se graban los ticks hasta el próximo envío
+        for (int i = 0; i < GhostNet.SEND_INTERVAL; i++) {
+            tick++;
+            float x = BenchmarkWorlds.WIDTH * (0.5f + 0.4f * (float) Math.sin(tick * 0.05));
+            sender.record(tick, x, tick / 60, false);
+        }
+        receiver.poll();
+        return receiver.getPacketsReceived();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.println();
+        System.out.println("sender: " + sender.summary());
+        System.out.println("receiver: " + receiver.summary());
+        sender.close();
+        receiver.close();
+    }
+}
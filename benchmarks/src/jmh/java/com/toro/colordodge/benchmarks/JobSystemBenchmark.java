@@ -0,0 +1,72 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.jobs.JobSystem;
+import com.toro.colordodge.sim.BlockWorld;
+import com.toro.colordodge.sim.GameSimulation;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Caída y colisión de un tick en el modo de muchos bloques, con 1 a N hilos
+ * Todos los bloques están a la altura de la bola (el peor caso para la
+ * colisión). threads = 1 es el camino de un solo hilo; la aceleración es el
+ * tiempo con 1 dividido el tiempo con N. Con más hilos que núcleos empeora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JobSystemBenchmark {
+
+    private static final float BALL_Y = 600;
+    private static final float BALL_RADIUS = 400;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"20000", "100000"})
+    public int blocks;
+
+    private JobSystem jobs;
+    private BlockWorld world;
+    private float direction = 1;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        jobs = new JobSystem(threads - 1, 0);
+        world = new BlockWorld(blocks);
+        Random random = new Random(42);
+        float[] ys = new float[blocks];
+        for (int i = 0; i < blocks; i++) ys[i] = BALL_Y - BALL_RADIUS + random.nextFloat() * 2 * BALL_RADIUS;
+        Arrays.sort(ys);  // En orden add() no mueve nada
+        for (int i = 0; i < blocks; i++) {
+            world.add(random.nextFloat() * (BenchmarkWorlds.WIDTH - 8), ys[i], 8, 8, BlockWorld.TYPE_WHITE);
+        }
+        world.setFallSpeed(60);
+    }
+
+    @Benchmark
+    public int tick() {
+        // Sube y baja para que los bloques sigan a la altura de la bola
+        direction = -direction;
+        world.step(direction * GameSimulation.TICK_TIME, jobs);
+        int first = world.firstAbove(BALL_Y - BALL_RADIUS);
+        int end = world.markCircleHits(first, BenchmarkWorlds.WIDTH / 2, BALL_Y, BALL_RADIUS, jobs);
+        return world.nextMarkedHit(first, end);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jobs.close();
+    }
+}
@@ -0,0 +1,49 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.render.ScoreText;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Formato del score: ScoreText reutilizable contra crear Strings en cada frame
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoreFormatBenchmark {
+
+    private final ScoreText text = new ScoreText();
+    private int score;
+
+    /**
+     * Score que cambia en cada llamada (peor caso para ScoreText)
+     */
+    @Benchmark
+    public int scoreText() {
+        text.set(score++);
+        return text.length();
+    }
+
+    /**
+     * Score sin cambios: lo normal en casi todos los frames
+     */
+    @Benchmark
+    public boolean scoreTextUnchanged() {
+        return text.set(score);
+    }
+
+    /**
+     * Como se hacía antes en MainGame.render() (título y texto)
+     */
+    @Benchmark
+    public int stringConcat() {
+        String title = "Score: " + score;
+        String text = String.valueOf(score++);
+        return title.length() + text.length();
+    }
+}
@@ -0,0 +1,52 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.sim.GameConfig;
+import com.toro.colordodge.sim.GameSimulation;
+import com.toro.colordodge.sim.TickInput;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Un tick completo de GameSimulation (entrada, caída, limpieza, colisión y generación)
+ * "blocksPerSpawn" controla cuántos bloques hay en pantalla a la vez
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimulationBenchmark {
+
+    @Param({"2", "20", "200"})
+    public int blocksPerSpawn;
+
+    private GameSimulation simulation;
+    private long seed;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameConfig config = new GameConfig(BenchmarkWorlds.WIDTH, 1920);
+        config.minBlocksPerSpawn = 1;
+        config.maxBlocksPerSpawn = blocksPerSpawn;
+        config.blockWidth = 20;
+        config.blockHeight = 20;
+        config.spawnInterval = 0.1f;
+        simulation = new GameSimulation(config, seed);
+    }
+
+    @Benchmark
+    public int tick() {
+        // Zigzag simple; al perder se empieza otra partida con la siguiente semilla
+        int buttons = (tick++ / 45 & 1) == 0 ? TickInput.LEFT : TickInput.RIGHT;
+        simulation.tick(TickInput.pack(buttons, 0));
+        if (simulation.isLost()) simulation.reset(++seed);
+        return simulation.getScore();
+    }
+}
@@ -0,0 +1,52 @@
+package com.toro.colordodge.benchmarks;
+
+import com.toro.colordodge.sim.BlockWorld;
+import com.toro.colordodge.sim.GameConfig;
+import com.toro.colordodge.sim.SpawnScheduler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generación de bloques de un tick con SpawnScheduler: entrega de las olas que
+ * tocan y generación anticipada de la siguiente
+ * Con wallChance 1 todas las olas son paredes (el patrón más caro); comparar
+ * con SimulationBenchmark para ver qué parte del tick es la generación
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpawnBenchmark {
+
+    @Param({"0", "1"})
+    public float wallChance;
+
+    private SpawnScheduler spawner;
+    private BlockWorld blocks;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameConfig config = new GameConfig(BenchmarkWorlds.WIDTH, 1920);
+        config.wallChance = wallChance;
+        config.spawnInterval = 0.1f;
+        spawner = new SpawnScheduler(config);
+        spawner.reset(42);
+        blocks = new BlockWorld(256);
+    }
+
+    @Benchmark
+    public int spawn() {
+        spawner.update(++tick, blocks, 450);
+        int size = blocks.size();
+        blocks.clear();  // Solo se mide la generación, no la caída
+        return size;
+    }
+}
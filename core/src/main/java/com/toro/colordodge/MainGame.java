@@ -1,31 +1,34 @@
 package com.toro.colordodge;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
-import java.util.ArrayList;
-import java.util.Random;
-
-/**
- * Clase que representa un bloque en el juego
- * Puede ser verde (puntos) o blanco (enemigo)
- */
-class Block {
-    Rectangle rect;  // Posición y tamaño del bloque
-    Color color;     // Color del bloque (verde o blanco)
-
-    Block(float x, float y, float width, float height, Color color) {
-        rect = new Rectangle(x, y, width, height);
-        this.color = color;
-    }
-}
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.toro.colordodge.assets.ResourceRegistry;
+import com.toro.colordodge.assets.ScreenAssets;
+import com.toro.colordodge.assets.UserFiles;
+import com.toro.colordodge.input.GameInput;
+import com.toro.colordodge.jobs.JobSystem;
+import com.toro.colordodge.net.GhostNet;
+import com.toro.colordodge.profile.FrameProfiler;
+import com.toro.colordodge.profile.ProfilerOverlay;
+import com.toro.colordodge.render.FrameGovernor;
+import com.toro.colordodge.render.GameRenderer;
+import com.toro.colordodge.render.ScoreHud;
+import com.toro.colordodge.sim.FixedStepClock;
+import com.toro.colordodge.sim.GameConfig;
+import com.toro.colordodge.sim.GameSimulation;
+import com.toro.colordodge.sim.Replay;
+import com.toro.colordodge.sim.RunSnapshot;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Clase principal del juego Color Dodge
@@ -34,44 +37,55 @@ class Block {
 public class MainGame extends ApplicationAdapter {
 
     // === COMPONENTES DE RENDERIZADO ===
-    private ShapeRenderer shapeRenderer;  // Para dibujar formas geométricas
-    private SpriteBatch batch;            // Para dibujar imágenes y texto
+    private SpriteBatch batch;            // Para dibujar imágenes, formas y texto
+    private GameRenderer gameRenderer;    // Dibuja la partida en una sola pasada del batch
     private BitmapFont font;              // Fuente para el texto del score
     private BitmapFont fontShadow;        // Fuente para la sombra del score
+    private ScoreHud scoreHud;            // Texto del score (solo se rearma al cambiar)
 
-    // === TEXTURAS (IMÁGENES) ===
-    private Texture textureEmpezar;       // Imagen de pantalla de inicio
-    private Texture texturePerdiste;      // Imagen de pantalla de "perdiste"
+    // === RECURSOS NATIVOS (memoria de GPU estimada, presupuesto y fugas) ===
+    private ResourceRegistry resources;
+    private long gpuBudget = ResourceRegistry.defaultGpuBudget(false);
+
+    // === IMÁGENES DE PANTALLA (inicio y "perdiste", cargadas bajo demanda) ===
+    private ScreenAssets screenAssets;
 
     // === DIMENSIONES DE PANTALLA ===
     private float screenWidth;
     private float screenHeight;
 
-    // === JUGADOR (BOLA) ===
-    private float ballX, ballY;           // Posición de la bola
-    private float ballRadius = 40f;       // Radio de la bola
-    private float speed = 5f;             // Velocidad de movimiento horizontal
+    // === SIMULACIÓN ===
+    private GameSimulation simulation;    // Lógica del juego (pasos fijos, sin Gdx)
+    private FixedStepClock clock;         // Convierte el tiempo real en pasos fijos
+    private Replay replay;                // Entradas de la partida actual (para reproducirla)
+    private static final String REPLAY_FILE = "last-run.cdr";  // Última partida guardada
+    private static final String RESUME_FILE = "resume.cds";    // Partida en pausa (por si el sistema cierra el juego)
+    private Replay script;                // Partida que se juega sola (null para jugar normalmente)
+    private Replay.Cursor scriptCursor;   // Próxima entrada de la partida guionada
+    private JobSystem jobs;               // Hilos para la caída y la colisión con muchos bloques
+    private static final int PARALLEL_BLOCKS = 8192;  // Desde cuántos bloques se reparte el trabajo
+
+    // === ENTRADA (eventos con marca de tiempo, se reparten entre los pasos del frame) ===
+    private final GameInput gameInput = new GameInput();
 
-    // === BARRA (PISTA) ===
-    private float barHeight = 30f;        // Altura de la barra
-    private float barWidth;                // Ancho de la barra (se calcula)
-    private float barX;                    // Posición X de la barra
+    // === CARRERA DE FANTASMAS (null si se juega solo) ===
+    private GhostNet ghostNet;
 
-    // === BLOQUES ===
-    private ArrayList<Block> blocks;      // Lista de bloques en pantalla
-    private float blockWidth = 80;        // Ancho de cada bloque
-    private float blockHeight = 80;       // Alto de cada bloque
-    private float blockSpeed = 7.5f;      // Velocidad de caída de los bloques
+    // === RITMO DE DIBUJO (sin dibujo continuo en pantallas quietas, FPS adaptativos en la partida) ===
+    private FrameGovernor governor;
+    private FrameGovernor.PowerState powerState = FrameGovernor.PowerState.NONE;
 
-    // === GENERACIÓN DE BLOQUES ===
-    private Random random;                 // Generador de números aleatorios
-    private float spawnTimer = 0;          // Contador de tiempo para generar bloques
-    private float spawnInterval = 0.8f;    // Intervalo entre generación de bloques (segundos)
+    // === MEDICIÓN (desactivada por defecto; F3 o tres dedos la muestran) ===
+    private FrameProfiler profiler;       // Tiempo de cada fase del frame
+    private ProfilerOverlay profilerOverlay;
 
     // === ESTADO DEL JUEGO ===
     private boolean gameStarted = false;  // Indica si el juego ha comenzado
     private boolean gameLost = false;      // Indica si el jugador perdió
-    private int score = 0;                 // Puntuación del jugador
+    private boolean screenImageShown;      // true desde que se dibujó la primera imagen de pantalla
+    private float deathTimer;              // Segundos que quedan de la explosión antes de "perdiste"
+    private boolean skipDelta;             // Primer frame después de una pausa: no cuenta el tiempo pausado
+    private static final float DEATH_TIME = 0.9f;
 
     /**
      * Método llamado una vez al iniciar el juego
@@ -84,34 +98,56 @@ public class MainGame extends ApplicationAdapter {
         screenHeight = Gdx.graphics.getHeight();
 
         // Inicializar componentes de renderizado
-        shapeRenderer = new ShapeRenderer();
-        batch = new SpriteBatch();
-
-        // Configurar barra (pista donde se mueve la bola)
-        barWidth = screenWidth * 0.8f;  // 80% del ancho de pantalla
-        barX = (screenWidth - barWidth) / 2;  // Centrar la barra
-
-        // Posición inicial de la bola (centro horizontal, 35% desde arriba)
-        ballX = screenWidth / 2;
-        ballY = screenHeight * 0.35f;
-
-        // Inicializar lista de bloques y generador aleatorio
-        blocks = new ArrayList<>();
-        random = new Random();
+        resources = new ResourceRegistry(gpuBudget);
+        resources.setTraceOrigins(Gdx.app.getLogLevel() >= Application.LOG_DEBUG);
+        batch = resources.track("SpriteBatch", new SpriteBatch());
+        gameRenderer = new GameRenderer(batch, resources);
+
+        // Inicializar la simulación (barra, bola y bloques) y su reloj de paso fijo
+        // Si el sistema cerró el juego en pausa durante una partida, se sigue desde ahí
+        RunSnapshot snapshot = script == null ? loadSnapshot() : null;
+        GameConfig config = script != null ? script.getConfig()
+            : snapshot != null ? snapshot.getReplay().getConfig()
+            : new GameConfig(screenWidth, screenHeight);
+        simulation = new GameSimulation(config, System.nanoTime());
+        replay = new Replay(config, simulation.getSeed());
+        if (snapshot != null) {
+            if (snapshot.restore(simulation)) {
+                replay = snapshot.getReplay();
+                gameStarted = true;
+            } else {
+                simulation.reset(simulation.getSeed());  // Foto de otra versión: se empieza de cero
+            }
+        }
+        if (ghostNet != null) ghostNet.setWorld(config.worldWidth, config.worldHeight);
+        clock = new FixedStepClock(GameSimulation.TICK_TIME, 0.25f);
+
+        // Profiler de frames (600 frames = 10 segundos a 60 FPS)
+        profiler = new FrameProfiler(600);
+        simulation.setProfiler(profiler);
+        jobs = new JobSystem(JobSystem.defaultWorkerCount(), PARALLEL_BLOCKS);
+        simulation.setJobSystem(jobs);
+        gameInput.setProfiler(profiler);
+        simulation.setListener(gameRenderer.getEffects());  // Partículas al juntar verdes y al perder
+        Gdx.input.setInputProcessor(gameInput);
+        governor = new FrameGovernor(Gdx.graphics.getDisplayMode().refreshRate, powerState);
 
         // Configurar fuente para el score
-        font = new BitmapFont();
+        font = resources.track("fuente del score", new BitmapFont());
         font.getData().setScale(7f);  // Tamaño grande
         font.setColor(Color.WHITE);
 
         // Configurar sombra del score
-        fontShadow = new BitmapFont();
+        fontShadow = resources.track("sombra del score", new BitmapFont());
         fontShadow.getData().setScale(7f);
         fontShadow.setColor(new Color(0, 0, 0, 0.5f));  // Negro semitransparente
+        scoreHud = new ScoreHud(font, fontShadow);
+        profilerOverlay = new ProfilerOverlay(profiler, Math.max(1f, screenHeight / 720f), resources);
 
-        // Cargar imágenes de las pantallas
-        textureEmpezar = new Texture(Gdx.files.internal("empezar.png"));
-        texturePerdiste = new Texture(Gdx.files.internal("perdiste.png"));
+        // Empezar a cargar la pantalla de inicio en segundo plano
+        // (el primer frame se dibuja sin esperar a que termine)
+        screenAssets = new ScreenAssets(resources);
+        if (!gameStarted) screenAssets.show(ScreenAssets.Screen.EMPEZAR);
     }
 
     /**
@@ -120,157 +156,315 @@ public class MainGame extends ApplicationAdapter {
      */
     @Override
     public void render() {
+        resources.endFrame();  // Cierra el frame anterior: si la GPU pasa del presupuesto se descarga lo que no se usa
+
         // Limpiar pantalla con color de fondo oscuro
         Gdx.gl.glClearColor(0.11f, 0.13f, 0.2f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
         // === PANTALLA DE INICIO O "PERDISTE" ===
         if (!gameStarted) {
-            batch.begin();
-
-            // Seleccionar imagen según el estado
-            Texture currentTexture = gameLost ? texturePerdiste : textureEmpezar;
-
-            // Calcular escala para que la imagen quepa en pantalla
-            float imgWidth = currentTexture.getWidth();
-            float imgHeight = currentTexture.getHeight();
-            float scaleX = screenWidth / imgWidth;
-            float scaleY = screenHeight / imgHeight;
-            float scale = Math.min(scaleX, scaleY) * 0.95f;  // 95% para margen
-
-            // Calcular posición centrada
-            float scaledWidth = imgWidth * scale;
-            float scaledHeight = imgHeight * scale;
-            float x = (screenWidth - scaledWidth) / 2;
-            float y = (screenHeight - scaledHeight) / 2;
+            // Seleccionar imagen según el estado (la otra se libera)
+            ScreenAssets.Screen screen = gameLost ? ScreenAssets.Screen.PERDISTE : ScreenAssets.Screen.EMPEZAR;
+            screenAssets.show(screen);
+            screenAssets.update();
+            TextureRegion currentImage = screenAssets.get(screen);
+
+            pollGhosts(Gdx.graphics.getDeltaTime());  // Aprende los compañeros aunque no haya partida
+
+            // Mientras carga solo se ve el fondo (y se sigue dibujando para terminar la carga);
+            // con la imagen lista la pantalla queda quieta hasta que haya entrada
+            if (currentImage == null || script != null) governor.active();
+            else governor.idle();
+            if (currentImage != null) {
+                batch.begin();
+
+                // Calcular escala para que la imagen quepa en pantalla
+                float imgWidth = currentImage.getRegionWidth();
+                float imgHeight = currentImage.getRegionHeight();
+                float scaleX = screenWidth / imgWidth;
+                float scaleY = screenHeight / imgHeight;
+                float scale = Math.min(scaleX, scaleY) * 0.95f;  // 95% para margen
+
+                // Calcular posición centrada
+                float scaledWidth = imgWidth * scale;
+                float scaledHeight = imgHeight * scale;
+                float x = (screenWidth - scaledWidth) / 2;
+                float y = (screenHeight - scaledHeight) / 2;
+
+                // Dibujar imagen
+                batch.draw(currentImage, x, y, scaledWidth, scaledHeight);
+                batch.end();
+                screenImageShown = true;
+            }
 
-            // Dibujar imagen
-            batch.draw(currentTexture, x, y, scaledWidth, scaledHeight);
-            batch.end();
+            // Partida guionada: empieza sola cuando se ve la imagen y al terminar cierra el juego
+            if (script != null && currentImage != null) {
+                if (scriptCursor != null) {
+                    Gdx.app.exit();
+                    return;
+                }
+                scriptCursor = script.cursor();
+                gameStarted = true;
+                screenAssets.releaseAll();
+                simulation.reset(script.getSeed());
+                gameInput.reset();
+                gameRenderer.getEffects().clear();
+                replay.reset(script.getSeed());
+                clock.reset();
+                return;
+            }
 
             // Esperar toque de pantalla para iniciar
             if (Gdx.input.justTouched()) {
                 gameStarted = true;
                 gameLost = false;
+                governor.active();
+                screenAssets.releaseAll();      // Durante la partida no hace falta ninguna imagen
+                // Cada partida con su propia semilla (en la carrera de fantasmas, la compartida)
+                long seed = ghostNet != null ? ghostNet.getSeed() : System.nanoTime();
+                simulation.reset(seed);
+                if (ghostNet != null) ghostNet.startRun();
+                gameInput.reset();              // Descarta lo que se tocó en la pantalla de inicio
+                gameRenderer.getEffects().clear();
+                replay.reset(seed);
+                clock.reset();
             }
             return;  // No ejecutar el resto del código hasta que empiece
         }
 
-        // === MOVIMIENTO DE LA BOLA ===
-        // Controles con teclado (para probar en desktop)
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) ballX -= speed;
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) ballX += speed;
+        governor.beginFrame();
+        profiler.beginFrame();
 
-        // Controles con acelerómetro (en dispositivos Android)
-        if (Gdx.app.getType() == com.badlogic.gdx.Application.ApplicationType.Android) {
-            float accelX = Gdx.input.getAccelerometerX();
-            ballX -= accelX * 2;  // Ajustar sensibilidad
+        // === ENTRADA ===
+        profiler.begin(FrameProfiler.INPUT);
+        // Las flechas (desktop) y el acelerómetro (Android) llegan como eventos a gameInput;
+        // aquí solo se atienden las teclas de depuración
+        // F2 alterna el dibujo de bloques entre el batch y el vertex buffer (para comparar)
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F2)) {
+            gameRenderer.setUseMesh(!gameRenderer.isUsingMesh());
         }
 
-        // Limitar movimiento dentro de la barra
-        float leftLimit = barX + ballRadius;
-        float rightLimit = barX + barWidth - ballRadius;
-        if (ballX < leftLimit) ballX = leftLimit;
-        if (ballX > rightLimit) ballX = rightLimit;
-
-        // === DIBUJAR ELEMENTOS DEL JUEGO ===
-        // Dibujar barra (pista)
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(new Color(0, 0, 0, 0.3f));  // Negro semitransparente
-        shapeRenderer.rect(barX, ballY - barHeight / 2, barWidth, barHeight);
-        shapeRenderer.end();
-
-        // Dibujar bola
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(Color.valueOf("00E3A4"));  // Verde menta
-        shapeRenderer.circle(ballX, ballY, ballRadius);
-        shapeRenderer.end();
-
-        // Dibujar y mover bloques
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        for (int i = 0; i < blocks.size(); i++) {
-            Block block = blocks.get(i);
-
-            // Mover bloque hacia abajo
-            block.rect.y -= blockSpeed;
-
-            // Dibujar bloque
-            shapeRenderer.setColor(block.color);
-            shapeRenderer.rect(block.rect.x, block.rect.y, block.rect.width, block.rect.height);
-
-            // Eliminar bloques que salen de pantalla
-            if (block.rect.y + block.rect.height < 0) {
-                blocks.remove(i);
-                i--;
+        // F3 (o tocar con tres dedos) muestra el profiler; F4 exporta sus datos
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)
+            || (Gdx.input.isTouched(2) && Gdx.input.justTouched())) {
+            profilerOverlay.toggle();
+            if (!profilerOverlay.isVisible() && Gdx.app.getType() == com.badlogic.gdx.Application.ApplicationType.Android) {
+                profilerOverlay.export();  // En Android no hay F4: se exporta al cerrarlo
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) profilerOverlay.export();
+        profiler.end(FrameProfiler.INPUT);
+
+        // === ACTUALIZAR LÓGICA EN PASOS FIJOS ===
+        // La cantidad de pasos depende del tiempo real, no de los FPS
+        // Cada paso se graba para poder repetir la partida exactamente
+        float delta = skipDelta ? 0 : Gdx.graphics.getDeltaTime();
+        skipDelta = false;
+        int steps = clock.advance(delta);
+        gameInput.beginFrame(steps);
+        if (deathTimer > 0) {
+            // Explosión: la simulación queda quieta y al terminar se pasa a "perdiste"
+            steps = 0;
+            deathTimer -= delta;
+            if (deathTimer <= 0) {
+                gameStarted = false;
+                gameLost = true;
             }
         }
-        shapeRenderer.end();
-
-        // Mostrar score en título de ventana (solo desktop)
-        Gdx.graphics.setTitle("Score: " + score);
-
-        // === DETECCIÓN DE COLISIONES ===
-        for (int i = 0; i < blocks.size(); i++) {
-            Block block = blocks.get(i);
-
-            // Crear rectángulo que representa la bola para detectar colisión
-            Rectangle ballRect = new Rectangle(ballX - ballRadius, ballY - ballRadius,
-                                                ballRadius * 2, ballRadius * 2);
-
-            if (block.rect.overlaps(ballRect)) {
-                if (block.color.equals(Color.WHITE)) {
-                    // Colisión con bloque blanco (enemigo) → Perder
-                    score = 0;
-                    blocks.clear();
-                    ballX = screenWidth / 2;
-                    gameStarted = false;
-                    gameLost = true;
+        for (int i = 0; i < steps; i++) {
+            int input = gameInput.nextTick();
+            if (scriptCursor != null) {
+                if (!scriptCursor.hasNext()) {
+                    gameStarted = false;  // Se terminó el guion
                     break;
-                } else {
-                    // Colisión con bloque verde → Sumar puntos
-                    score++;
-                    blockSpeed += 0.2f;  // Aumentar dificultad
-                    blocks.remove(i);
-                    i--;
                 }
+                input = scriptCursor.next();
+            }
+            replay.record(input);
+            simulation.tick(input);
+            recordGhost();
+            if (simulation.isLost()) {
+                // Colisión con bloque blanco → explosión y después la pantalla "perdiste"
+                deathTimer = DEATH_TIME;
+                saveReplay();
+                break;
             }
         }
+        float alpha = clock.alpha();  // Fracción entre el paso anterior y el actual
+        pollGhosts(delta);
 
-        // === GENERACIÓN DE BLOQUES ===
-        spawnTimer += Gdx.graphics.getDeltaTime();  // DeltaTime = tiempo entre frames
-        if (spawnTimer >= spawnInterval) {
-            spawnTimer = 0;
-
-            // Generar entre 1 y 2 bloques aleatorios
-            int blockCount = 1 + random.nextInt(2);
-
-            for (int i = 0; i < blockCount; i++) {
-                // 15% de probabilidad de bloque verde, 85% de bloque blanco
-                Color blockColor = random.nextFloat() < 0.15f ?
-                    Color.valueOf("00E3A4") : Color.WHITE;
-
-                // Crear bloque en posición aleatoria en la parte superior
-                blocks.add(new Block(
-                    random.nextInt((int) (screenWidth - blockWidth)),
-                    screenHeight,  // Aparece arriba de la pantalla
-                    blockWidth,
-                    blockHeight,
-                    blockColor
-                ));
-            }
+        // === DIBUJAR ELEMENTOS DEL JUEGO ===
+        // Barra, bola, bloques, partículas y score en una sola pasada del batch
+        profiler.begin(FrameProfiler.DRAW);
+        gameRenderer.getEffects().update(delta);
+        gameRenderer.begin();
+        gameRenderer.drawWorld(simulation, alpha);
+        if (ghostNet != null) {
+            gameRenderer.drawGhosts(ghostNet.getGhosts(), simulation.getBallY(), simulation.getBallRadius());
         }
+        profiler.end(FrameProfiler.DRAW);
 
         // === DIBUJAR SCORE ===
-        batch.begin();
-        String scoreText = String.valueOf(score);
-        float scoreWidth = font.getRegion().getRegionWidth() * 0.5f;
+        // También muestra el score en el título de la ventana (solo desktop)
+        profiler.begin(FrameProfiler.HUD);
+        scoreHud.update(simulation.getScore());
+        scoreHud.draw(gameRenderer, screenWidth / 2, simulation.getBallY() - 80);
+        profilerOverlay.draw(gameRenderer, screenHeight);
+        gameRenderer.end();
+        profiler.end(FrameProfiler.HUD);
+
+        profiler.endFrame(gameRenderer.getStats().drawCalls, simulation.getBlocks().size());
+        governor.endFrame();
+    }
+
+    /**
+     * Llamado al pasar a segundo plano (en Android el sistema puede cerrar el
+     * juego después sin avisar): guarda la partida en curso en unos cientos de bytes
+     */
+    @Override
+    public void pause() {
+        FileHandle file = UserFiles.get(RESUME_FILE);
+        if (!gameStarted || deathTimer > 0 || script != null) {
+            if (file.exists()) file.delete();  // No hay partida que seguir
+            return;
+        }
+        try (OutputStream out = file.write(false, 512)) {
+            RunSnapshot.write(out, replay, simulation);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("ColorDodge", "No se pudo guardar la partida en pausa", e);
+        }
+    }
+
+    /**
+     * Llamado al volver de segundo plano; si se perdió el contexto GL, libGDX
+     * ya recargó las texturas, fuentes y shaders, y aquí se rehace el resto
+     */
+    @Override
+    public void resume() {
+        gameRenderer.resume();
+        clock.reset();
+        gameInput.reset();    // Lo que quedó en la cola es de antes de la pausa
+        skipDelta = true;
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Partida guardada en pause() si el proceso se cerró; se usa una sola vez
+     */
+    private RunSnapshot loadSnapshot() {
+        FileHandle file = UserFiles.get(RESUME_FILE);
+        if (!file.exists()) return null;
+        try (InputStream in = file.read(512)) {
+            return RunSnapshot.read(in);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("ColorDodge", "No se pudo leer la partida en pausa", e);
+            return null;
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Guarda la repetición de la partida actual (ver UserFiles)
+     */
+    private void saveReplay() {
+        replay.finish(simulation);
+        try (OutputStream out = UserFiles.get(REPLAY_FILE).write(false)) {
+            replay.write(out);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("ColorDodge", "No se pudo guardar la repetición", e);
+        }
+    }
+
+    /**
+     * Manda el estado del último tick a los otros jugadores
+     */
+    private void recordGhost() {
+        if (ghostNet == null) return;
+        try {
+            ghostNet.record(simulation.getTick(), simulation.getBallX(), simulation.getScore(), simulation.isLost());
+        } catch (IOException e) {
+            stopGhostRace(e);
+        }
+    }
 
-        // Dibujar sombra del score
-        fontShadow.draw(batch, scoreText, screenWidth / 2 - scoreWidth + 3, ballY - 80 - 3);
+    /**
+     * Lee lo que mandaron los otros jugadores y avanza sus fantasmas
+     */
+    private void pollGhosts(float delta) {
+        if (ghostNet == null) return;
+        try {
+            ghostNet.poll();
+            ghostNet.update(delta);
+        } catch (IOException e) {
+            stopGhostRace(e);
+        }
+    }
+
+    /**
+     * Un error de red no corta la partida: se sigue jugando solo
+     */
+    private void stopGhostRace(IOException e) {
+        Gdx.app.error("ColorDodge", "Se cortó la carrera de fantasmas", e);
+        closeGhostRace();
+    }
+
+    private void closeGhostRace() {
+        if (ghostNet == null) return;
+        Gdx.app.log("ColorDodge", ghostNet.summary());
+        try {
+            ghostNet.close();
+        } catch (IOException ignored) {
+            // Ya no se usa
+        }
+        ghostNet = null;
+    }
 
-        // Dibujar score principal
-        font.draw(batch, scoreText, screenWidth / 2 - scoreWidth, ballY - 80);
-        batch.end();
+    /**
+     * Entrada del jugador; el launcher de Android la usa para entregar el sensor
+     */
+    public GameInput getInput() {
+        return gameInput;
+    }
+
+    /**
+     * Memoria de GPU permitida en bytes; al pasarla se descargan las imágenes
+     * que no se usan (se llama antes de create())
+     */
+    public void setGpuBudget(long gpuBudget) {
+        this.gpuBudget = gpuBudget;
+    }
+
+    /**
+     * Estado de batería y temperatura de la plataforma (se llama antes de create())
+     */
+    public void setPowerState(FrameGovernor.PowerState powerState) {
+        this.powerState = powerState;
+    }
+
+    /**
+     * Hace que el juego se juegue solo con las entradas de una repetición y se
+     * cierre al terminarla. Sirve para ejecuciones de entrenamiento (archivo CDS,
+     * agente y perfil de GraalVM). Se llama antes de create()
+     */
+    public void setScript(Replay script) {
+        this.script = script;
+    }
+
+    /**
+     * Juega una carrera de fantasmas: todas las partidas usan la semilla de
+     * ghostNet y se ven las bolas de los otros jugadores. Se llama antes de create()
+     */
+    public void setGhostRace(GhostNet ghostNet) {
+        this.ghostNet = ghostNet;
+    }
+
+    /**
+     * true desde que se dibujó por primera vez la imagen de inicio (para medir el arranque)
+     */
+    public boolean hasShownScreenImage() {
+        return screenImageShown;
     }
 
     /**
@@ -279,11 +473,16 @@ public class MainGame extends ApplicationAdapter {
      */
     @Override
     public void dispose() {
-        shapeRenderer.dispose();
-        batch.dispose();
-        font.dispose();
-        fontShadow.dispose();
-        textureEmpezar.dispose();
-        texturePerdiste.dispose();
+        if (gameStarted && deathTimer <= 0) saveReplay();  // Guarda la partida en curso (útil si se cerró por un error)
+        UserFiles.get(RESUME_FILE).delete();             // Se cerró normalmente: no hay nada que seguir
+        gameRenderer.dispose();
+        profilerOverlay.dispose();
+        resources.release(batch);
+        resources.release(font);
+        resources.release(fontShadow);
+        screenAssets.dispose();
+        closeGhostRace();
+        jobs.close();
+        if (resources.reportLeaks() == 0) Gdx.app.debug("ColorDodge", "Sin recursos sin liberar");
     }
 }
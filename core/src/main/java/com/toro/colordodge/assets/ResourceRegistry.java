@@ -0,0 +1,344 @@
+package com.toro.colordodge.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro de los recursos nativos del juego (texturas, fuentes, batches,
+ * buffers) con una estimación de la memoria de GPU y nativa que usa cada uno
+ * <p>
+ * Cada dueño registra lo que crea con track() y lo libera con release(), que
+ * también lo quita del registro. Lo que siga registrado al cerrar es una fuga:
+ * reportLeaks() lo informa y lo libera. Las texturas que se pueden volver a
+ * cargar se registran con trackEvictable(); si la GPU pasa del presupuesto,
+ * endFrame() descarga las que hace más tiempo que no se usan (LRU), nunca una
+ * usada en el frame actual. Así en teléfonos con poca RAM la memoria de GPU
+ * del juego queda acotada y se puede predecir
+ */
+public class ResourceRegistry {
+
+    /**
+     * Recurso cuyo tamaño cambia mientras vive (por ejemplo un buffer que crece);
+     * el registro vuelve a leerlo en cada endFrame()
+     */
+    public interface Sized {
+        long gpuBytes();
+
+        long nativeBytes();
+    }
+
+    private static final long MB = 1024 * 1024;
+    private static final int SPRITE_BATCH_SIZE = 1000;  // Sprites del constructor por defecto de SpriteBatch
+
+    private static final class Entry {
+        String name;
+        Object key;                // El recurso (o la clave con que lo registró su dueño)
+        Disposable resource;       // null si lo libera su dueño (por ejemplo un AssetManager)
+        long gpuBytes;
+        long nativeBytes;
+        Runnable unload;           // Cómo descargarlo para ahorrar memoria (null: no se puede)
+        long lastUsedFrame;
+        Throwable origin;          // Dónde se creó (solo con setTraceOrigins(true))
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private long gpuBudget;
+    private long gpuBytes;
+    private long nativeBytes;
+    private long frame;
+    private boolean traceOrigins;
+    private boolean overBudgetReported;
+    private int evictions;
+
+    /**
+     * @param gpuBudget bytes de GPU permitidos; al pasarlos se descargan texturas
+     */
+    public ResourceRegistry(long gpuBudget) {
+        this.gpuBudget = gpuBudget;
+    }
+
+    /**
+     * Presupuesto por defecto: menos en dispositivos con poca RAM
+     */
+    public static long defaultGpuBudget(boolean lowRamDevice) {
+        return (lowRamDevice ? 32 : 128) * MB;
+    }
+
+    // === REGISTRO ===
+
+    /**
+     * Registra un recurso con una estimación automática de su memoria
+     * @return el mismo recurso (para usarlo al crearlo)
+     */
+    public <T extends Disposable> T track(String name, T resource) {
+        return track(name, resource, estimateGpuBytes(resource), estimateNativeBytes(resource));
+    }
+
+    /**
+     * Registra un recurso con la memoria indicada por su dueño
+     */
+    public <T extends Disposable> T track(String name, T resource, long gpuBytes, long nativeBytes) {
+        add(name, resource, resource, gpuBytes, nativeBytes, null);
+        return resource;
+    }
+
+    /**
+     * Registra algo que se puede descargar y volver a cargar cuando haga falta;
+     * lo libera su dueño (unload debe terminar llamando a forget(key))
+     */
+    public void trackEvictable(String name, Object key, long gpuBytes, Runnable unload) {
+        add(name, key, null, gpuBytes, 0, unload);
+    }
+
+    private void add(String name, Object key, Disposable resource, long gpu, long nativeSize, Runnable unload) {
+        if (find(key) >= 0) throw new IllegalArgumentException("Recurso registrado dos veces: " + name);
+        Entry entry = new Entry();
+        entry.name = name;
+        entry.key = key;
+        entry.resource = resource;
+        entry.gpuBytes = gpu;
+        entry.nativeBytes = nativeSize;
+        entry.unload = unload;
+        entry.lastUsedFrame = frame;
+        if (traceOrigins) entry.origin = new Throwable("Creado aquí");
+        entries.add(entry);
+        gpuBytes += gpu;
+        nativeBytes += nativeSize;
+    }
+
+    /**
+     * Marca el recurso como usado en este frame (no se descarga hasta el próximo)
+     */
+    public void touch(Object key) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            if (entry.key == key) {
+                entry.lastUsedFrame = frame;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Libera el recurso (dispose()) y lo quita del registro
+     */
+    public void release(Object key) {
+        int index = find(key);
+        if (index < 0) {
+            if (key instanceof Disposable) ((Disposable) key).dispose();  // No registrado: igual se libera
+            return;
+        }
+        Entry entry = remove(index);
+        if (entry.resource != null) entry.resource.dispose();
+    }
+
+    /**
+     * Quita el recurso del registro sin liberarlo (ya lo liberó su dueño)
+     */
+    public void forget(Object key) {
+        int index = find(key);
+        if (index >= 0) remove(index);
+    }
+
+    private int find(Object key) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).key == key) return i;
+        }
+        return -1;
+    }
+
+    private Entry remove(int index) {
+        Entry entry = entries.remove(index);
+        gpuBytes -= entry.gpuBytes;
+        nativeBytes -= entry.nativeBytes;
+        return entry;
+    }
+
+    // === PRESUPUESTO ===
+
+    /**
+     * Cierra el frame: actualiza los tamaños que cambian y, si la GPU pasa del
+     * presupuesto, descarga lo que hace más tiempo que no se usa
+     */
+    public void endFrame() {
+        for (int i = 0, n = entries.size(); i < n; i++) {
+            Entry entry = entries.get(i);
+            if (entry.key instanceof Sized) {
+                Sized sized = (Sized) entry.key;
+                long gpu = sized.gpuBytes(), nativeSize = sized.nativeBytes();
+                gpuBytes += gpu - entry.gpuBytes;
+                nativeBytes += nativeSize - entry.nativeBytes;
+                entry.gpuBytes = gpu;
+                entry.nativeBytes = nativeSize;
+            }
+        }
+        while (gpuBytes > gpuBudget) {
+            Entry oldest = null;
+            for (int i = 0, n = entries.size(); i < n; i++) {
+                Entry entry = entries.get(i);
+                if (entry.unload == null || entry.lastUsedFrame >= frame) continue;
+                if (oldest == null || entry.lastUsedFrame < oldest.lastUsedFrame) oldest = entry;
+            }
+            if (oldest == null) {
+                // Todo lo que queda está en uso: se informa una vez y se sigue
+                if (!overBudgetReported) {
+                    overBudgetReported = true;
+                    Gdx.app.error("ColorDodge", "Memoria de GPU sobre el presupuesto: " + summary());
+                }
+                break;
+            }
+            int before = entries.size();
+            oldest.unload.run();
+            if (entries.size() == before) forget(oldest.key);  // El dueño no llamó a forget()
+            evictions++;
+        }
+        if (gpuBytes <= gpuBudget) overBudgetReported = false;
+        frame++;
+    }
+
+    public void setGpuBudget(long gpuBudget) {
+        this.gpuBudget = gpuBudget;
+    }
+
+    public long getGpuBudget() {
+        return gpuBudget;
+    }
+
+    public long getGpuBytes() {
+        return gpuBytes;
+    }
+
+    public long getNativeBytes() {
+        return nativeBytes;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // === FUGAS ===
+
+    /**
+     * Guarda dónde se creó cada recurso para mostrarlo en el reporte de fugas
+     * (cuesta una excepción por recurso: solo para depurar)
+     */
+    public void setTraceOrigins(boolean traceOrigins) {
+        this.traceOrigins = traceOrigins;
+    }
+
+    /**
+     * Nombres de los recursos que siguen registrados (fugas si ya se cerró todo)
+     */
+    public List<String> getLiveNames() {
+        List<String> names = new ArrayList<>(entries.size());
+        for (Entry entry : entries) names.add(entry.name);
+        return names;
+    }
+
+    /**
+     * Al cerrar: informa y libera lo que nadie liberó
+     * @return cantidad de fugas
+     */
+    public int reportLeaks() {
+        int leaks = entries.size();
+        for (int i = leaks - 1; i >= 0; i--) {
+            Entry entry = remove(i);
+            String message = "Recurso sin liberar: " + entry.name + " (" + kb(entry.gpuBytes) + " KB GPU, "
+                + kb(entry.nativeBytes) + " KB nativos)";
+            if (entry.origin != null) Gdx.app.error("ColorDodge", message, entry.origin);
+            else Gdx.app.error("ColorDodge", message);
+            if (entry.resource != null) entry.resource.dispose();
+            else if (entry.unload != null) entry.unload.run();
+        }
+        return leaks;
+    }
+
+    public String summary() {
+        return "GPU " + kb(gpuBytes) + " KB de " + kb(gpuBudget) + " KB, nativos " + kb(nativeBytes) + " KB, "
+            + entries.size() + " recursos, " + evictions + " descargados";
+    }
+
+    private static long kb(long bytes) {
+        return (bytes + 1023) / 1024;
+    }
+
+    // === ESTIMACIONES ===
+
+    /**
+     * Bytes de GPU estimados (texturas con su formato y mipmaps; los buffers de GPU
+     * propios deben implementar Sized)
+     */
+    public static long estimateGpuBytes(Object resource) {
+        if (resource instanceof Sized) return ((Sized) resource).gpuBytes();
+        if (resource instanceof Texture) return textureBytes((Texture) resource);
+        if (resource instanceof TextureAtlas) {
+            long total = 0;
+            for (Texture texture : ((TextureAtlas) resource).getTextures()) total += textureBytes(texture);
+            return total;
+        }
+        if (resource instanceof BitmapFont) {
+            BitmapFont font = (BitmapFont) resource;
+            if (!font.ownsTexture()) return 0;
+            long total = 0;
+            for (TextureRegion region : font.getRegions()) total += textureBytes(region.getTexture());
+            return total;
+        }
+        return 0;
+    }
+
+    /**
+     * Bytes nativos (fuera del heap de Java) estimados: vértices e índices de
+     * los batches y meshes, que en GLES2 viven en buffers directos
+     */
+    public static long estimateNativeBytes(Object resource) {
+        if (resource instanceof Sized) return ((Sized) resource).nativeBytes();
+        if (resource instanceof SpriteBatch) {
+            return SPRITE_BATCH_SIZE * (4L * SpriteBatch.SPRITE_SIZE + 6 * 2);
+        }
+        if (resource instanceof Mesh) {
+            Mesh mesh = (Mesh) resource;
+            return (long) mesh.getMaxVertices() * mesh.getVertexSize() + mesh.getMaxIndices() * 2L;
+        }
+        return 0;
+    }
+
+    private static long textureBytes(Texture texture) {
+        TextureData data = texture.getTextureData();
+        long pixels = (long) texture.getWidth() * texture.getHeight();
+        long bytes = data.getType() == TextureData.TextureDataType.Custom
+            ? pixels / 2  // Comprimida (ETC1/KTX): 4 bits por píxel
+            : pixels * bytesPerPixel(data.getFormat());
+        if (data.useMipMaps()) bytes = bytes * 4 / 3;
+        return bytes;
+    }
+
+    private static int bytesPerPixel(Pixmap.Format format) {
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.toro.colordodge.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Imágenes de pantalla completa (inicio y "perdiste") cargadas bajo demanda
+ * <p>
+ * Cada pantalla es un atlas propio generado por la tarea packTextures de Gradle.
+ * Se cargan en segundo plano con un AssetManager y solo queda en memoria de GPU
+ * la pantalla visible: al mostrar una se libera la otra y durante la partida no
+ * queda ninguna. Si el atlas comprimido ETC1 existe y la GPU lo soporta, se usa
+ * ese en lugar del PNG
+ */
+public class ScreenAssets implements Disposable {
+
+    /** Pantallas disponibles; el nombre coincide con la carpeta en raw-assets/screens/ */
+    public enum Screen {
+        EMPEZAR("empezar"),
+        PERDISTE("perdiste");
+
+        final String name;
+
+        Screen(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final int LOAD_BUDGET_MS = 4;  // Tiempo máximo de carga por frame en el hilo del juego
+    private static final String ETC1_EXTENSION = "GL_OES_compressed_ETC1_RGB8_texture";
+
+    private final AssetManager manager = new AssetManager();
+    private final ResourceRegistry resources;
+    private final String[] paths = new String[Screen.values().length];
+    private final TextureRegion[] regions = new TextureRegion[Screen.values().length];
+
+    public ScreenAssets(ResourceRegistry resources) {
+        this.resources = resources;
+        boolean etc1 = Gdx.graphics.supportsExtension(ETC1_EXTENSION);
+        for (Screen screen : Screen.values()) {
+            String compressed = "atlas/" + screen.name + "-etc1.atlas";
+            paths[screen.ordinal()] = etc1 && Gdx.files.internal(compressed).exists()
+                ? compressed : "atlas/" + screen.name + ".atlas";
+        }
+    }
+
+    /**
+     * Pide la pantalla indicada y libera las demás
+     * Se puede llamar en cada frame; solo hace algo cuando cambia la pantalla
+     */
+    public void show(Screen screen) {
+        for (Screen other : Screen.values()) {
+            if (other != screen) release(other);
+        }
+        String path = paths[screen.ordinal()];
+        if (!manager.contains(path)) {
+            manager.load(path, TextureAtlas.class);
+        }
+    }
+
+    /**
+     * Libera todas las pantallas (por ejemplo al empezar la partida)
+     */
+    public void releaseAll() {
+        for (Screen screen : Screen.values()) release(screen);
+    }
+
+    private void release(Screen screen) {
+        String path = paths[screen.ordinal()];
+        regions[screen.ordinal()] = null;
+        resources.forget(path);
+        if (manager.contains(path)) manager.unload(path);
+    }
+
+    /**
+     * Avanza la carga en segundo plano; no bloquea más de LOAD_BUDGET_MS
+     */
+    public void update() {
+        manager.update(LOAD_BUDGET_MS);
+    }
+
+    /**
+     * Imagen de la pantalla, o null si todavía se está cargando
+     */
+    public TextureRegion get(Screen screen) {
+        int index = screen.ordinal();
+        String path = paths[index];
+        if (regions[index] == null && manager.isLoaded(path)) {
+            TextureAtlas atlas = manager.get(path, TextureAtlas.class);
+            regions[index] = atlas.findRegion(screen.name);
+            // Si falta memoria de GPU se puede descargar; show() la vuelve a pedir
+            resources.trackEvictable("pantalla " + screen.name, path, ResourceRegistry.estimateGpuBytes(atlas),
+                () -> release(screen));
+        }
+        if (regions[index] != null) resources.touch(path);
+        return regions[index];
+    }
+
+    @Override
+    public void dispose() {
+        for (String path : paths) resources.forget(path);
+        manager.dispose();
+    }
+}
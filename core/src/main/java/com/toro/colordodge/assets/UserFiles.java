@@ -0,0 +1,28 @@
+package com.toro.colordodge.assets;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Archivos que escribe el juego (repeticiones, partida en pausa, exportes del profiler)
+ * <p>
+ * En Android van al almacenamiento privado de la app. En escritorio
+ * Gdx.files.local() es el directorio de trabajo, que con lwjgl3:run es
+ * assets/: lo escrito terminaría en el jar y en assets.txt.
+ * Por eso allí se usa una carpeta en el directorio del usuario
+ */
+public final class UserFiles {
+
+    private static final String DESKTOP_DIR = ".colordodge/";  // Dentro del directorio del usuario
+
+    private UserFiles() {
+    }
+
+    public static FileHandle get(String path) {
+        if (Gdx.app.getType() == Application.ApplicationType.Desktop) {
+            return Gdx.files.external(DESKTOP_DIR + path);
+        }
+        return Gdx.files.local(path);
+    }
+}
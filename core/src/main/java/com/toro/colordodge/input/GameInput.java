@@ -0,0 +1,185 @@
+package com.toro.colordodge.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.toro.colordodge.profile.FrameProfiler;
+import com.toro.colordodge.sim.TickInput;
+
+/**
+ * Entrada del jugador por eventos en lugar de consultar el estado una vez por frame
+ * <p>
+ * Las teclas llegan como eventos del InputProcessor y la inclinación como
+ * muestras del sensor; todo se guarda con su marca de tiempo en colas sin
+ * bloqueos. Cada tick saca solo los eventos ocurridos hasta su momento dentro
+ * del frame, así los pasos de un mismo frame reciben la entrada en orden. Una
+ * tecla apretada y soltada dentro de un mismo tick igual cuenta para ese tick
+ * (antes se perdía si duraba menos que un frame). La inclinación pasa por un
+ * filtro 1€ que quita el temblor sin agregar retraso al moverse rápido
+ * <p>
+ * Con el profiler activo se mide la latencia de cada evento: desde que ocurrió
+ * hasta el tick que lo aplicó
+ */
+public class GameInput extends InputAdapter {
+
+    // === TIPOS DE EVENTO (código = tipo | botones de TickInput) ===
+    private static final int BUTTON_DOWN = 1 << 8;
+    private static final int BUTTON_UP = 2 << 8;
+    private static final int BUTTONS_MASK = 0xFF;
+
+    private final InputQueue buttonEvents = new InputQueue(256);  // Teclas (hilo del juego)
+    private final InputQueue tiltEvents = new InputQueue(256);    // Sensor (su propio hilo en Android)
+    private final OneEuroFilter tiltFilter = new OneEuroFilter(1.5f, 0.05f, 1f);
+    private boolean externalTilt;          // true si otro hilo entrega el sensor con pushTilt()
+
+    // === ESTADO ===
+    private int held;                      // Botones apretados ahora
+    private int latched;                   // Botones apretados en algún momento del tick actual
+    private float tilt;                    // Inclinación filtrada
+
+    // === FRAME ACTUAL ===
+    private long frameStart, frameEnd;     // Intervalo de tiempo real que cubren los ticks de este frame
+    private int frameSteps, step;
+
+    private FrameProfiler profiler;
+
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Indica que la inclinación llega por pushTilt() desde otro hilo (por ejemplo
+     * un SensorEventListener propio en Android) y no hay que consultarla en cada
+     * frame. Se llama antes de empezar el juego
+     */
+    public void setExternalTilt(boolean externalTilt) {
+        this.externalTilt = externalTilt;
+    }
+
+    /**
+     * Ajusta el filtro de la inclinación: minCutoff (Hz) quita el temblor en
+     * reposo, beta reduce el retraso al inclinar rápido
+     */
+    public void setTiltFilter(float minCutoff, float beta) {
+        tiltFilter.setParameters(minCutoff, beta);
+    }
+
+    /**
+     * Agrega una muestra del acelerómetro (eje X); solo desde un único hilo productor
+     */
+    public void pushTilt(long time, float accelerometerX) {
+        tiltEvents.offer(time, 0, accelerometerX);
+    }
+
+    // === EVENTOS DE TECLADO ===
+
+    @Override
+    public boolean keyDown(int keycode) {
+        Gdx.graphics.requestRendering();  // Despierta las pantallas quietas (sin dibujo continuo)
+        int button = button(keycode);
+        if (button == 0) return false;
+        buttonEvents.offer(eventTime(), BUTTON_DOWN | button, 0);
+        return true;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        int button = button(keycode);
+        if (button == 0) return false;
+        buttonEvents.offer(eventTime(), BUTTON_UP | button, 0);
+        return true;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        Gdx.graphics.requestRendering();
+        return false;
+    }
+
+    private static int button(int keycode) {
+        if (keycode == Input.Keys.LEFT) return TickInput.LEFT;
+        if (keycode == Input.Keys.RIGHT) return TickInput.RIGHT;
+        return 0;
+    }
+
+    /**
+     * Momento del evento que se está procesando: en Android es cuando lo recibió
+     * el hilo de la interfaz, no cuando lo procesa el hilo del juego
+     */
+    private static long eventTime() {
+        long time = Gdx.input.getCurrentEventTime();
+        return time != 0 ? time : System.nanoTime();
+    }
+
+    // === TICKS ===
+
+    /**
+     * Empieza una partida: aplica los eventos pendientes sin medirlos ni
+     * retenerlos (una tecla que sigue apretada sigue contando)
+     */
+    public void reset() {
+        while (!buttonEvents.isEmpty()) {
+            int code = buttonEvents.peekCode();
+            if ((code & BUTTON_DOWN) != 0) held |= code & BUTTONS_MASK;
+            else held &= ~(code & BUTTONS_MASK);
+            buttonEvents.pop();
+        }
+        while (!tiltEvents.isEmpty()) {
+            tilt = tiltFilter.filter(tiltEvents.peekValue(), tiltEvents.peekTime());
+            tiltEvents.pop();
+        }
+        latched = 0;
+        frameEnd = 0;
+    }
+
+    /**
+     * Empieza un frame que va a simular la cantidad de pasos indicada
+     * Sin sensor propio, consulta aquí el acelerómetro de libGDX
+     */
+    public void beginFrame(int steps) {
+        long now = System.nanoTime();
+        frameStart = frameEnd != 0 ? frameEnd : now;
+        frameEnd = now;
+        frameSteps = steps;
+        step = 0;
+        if (!externalTilt && Gdx.input.isPeripheralAvailable(Input.Peripheral.Accelerometer)) {
+            tiltEvents.offer(now, 0, Gdx.input.getAccelerometerX());
+        }
+    }
+
+    /**
+     * Entrada del próximo paso del frame, empaquetada con TickInput.pack()
+     */
+    public int nextTick() {
+        step++;
+        long cutoff = step >= frameSteps ? frameEnd
+            : frameStart + (frameEnd - frameStart) * step / frameSteps;
+        long now = System.nanoTime();
+        FrameProfiler profiler = this.profiler;
+
+        InputQueue buttons = buttonEvents;
+        while (!buttons.isEmpty() && buttons.peekTime() <= cutoff) {
+            int code = buttons.peekCode();
+            int button = code & BUTTONS_MASK;
+            if ((code & BUTTON_DOWN) != 0) {
+                held |= button;
+                latched |= button;
+            } else {
+                held &= ~button;
+            }
+            if (profiler != null) profiler.recordInputLatency(now - buttons.peekTime());
+            buttons.pop();
+        }
+
+        InputQueue tilts = tiltEvents;
+        while (!tilts.isEmpty() && tilts.peekTime() <= cutoff) {
+            tilt = tiltFilter.filter(tilts.peekValue(), tilts.peekTime());
+            if (profiler != null) profiler.recordInputLatency(now - tilts.peekTime());
+            tilts.pop();
+        }
+
+        int input = TickInput.pack(held | latched, tilt);
+        latched = 0;
+        return input;
+    }
+}
@@ -0,0 +1,80 @@
+package com.toro.colordodge.input;
+
+/**
+ * Cola circular sin bloqueos para eventos de entrada con marca de tiempo
+ * <p>
+ * Un solo hilo agrega (por ejemplo el del sensor) y un solo hilo saca (el del
+ * juego). Los datos van en arreglos preasignados, así no se crean objetos por
+ * evento. El productor escribe el evento y después publica el índice (escritura
+ * volatile); el consumidor lee el índice antes que los datos, así nunca ve un
+ * evento a medio escribir. Si la cola está llena el evento se descarta
+ */
+public class InputQueue {
+
+    private final int mask;
+    private final long[] times;      // System.nanoTime() del evento
+    private final int[] codes;
+    private final float[] values;
+
+    private volatile long head;      // Próximo a leer (solo lo escribe el consumidor)
+    private volatile long tail;      // Próximo a escribir (solo lo escribe el productor)
+    private int dropped;             // Eventos descartados por cola llena (lo escribe el productor)
+
+    /**
+     * @param capacity cantidad de eventos, se redondea a potencia de dos
+     */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        times = new long[size];
+        codes = new int[size];
+        values = new float[size];
+    }
+
+    /**
+     * Agrega un evento (solo desde el hilo productor)
+     * @return false si la cola estaba llena y se descartó
+     */
+    public boolean offer(long time, int code, float value) {
+        long t = tail;
+        if (t - head > mask) {
+            dropped++;
+            return false;
+        }
+        int slot = (int) t & mask;
+        times[slot] = time;
+        codes[slot] = code;
+        values[slot] = value;
+        tail = t + 1;  // Publica el evento
+        return true;
+    }
+
+    // === CONSUMIDOR (solo desde el hilo del juego) ===
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public long peekTime() {
+        return times[(int) head & mask];
+    }
+
+    public int peekCode() {
+        return codes[(int) head & mask];
+    }
+
+    public float peekValue() {
+        return values[(int) head & mask];
+    }
+
+    /**
+     * Descarta el evento más viejo (después de leerlo con peek*)
+     */
+    public void pop() {
+        head = head + 1;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,69 @@
+package com.toro.colordodge.input;
+
+/**
+ * Filtro "1€" (Casiez, Roussel y Vogel, 2012) para señales con ruido
+ * <p>
+ * Es un pasa bajos cuyo corte sube con la velocidad de la señal: con el celular
+ * quieto suaviza mucho (sin temblor) y al inclinarlo rápido casi no suaviza (sin
+ * retraso). minCutoff controla el temblor en reposo y beta el retraso en
+ * movimiento. Usa la marca de tiempo de cada muestra, así funciona aunque el
+ * sensor no entregue a frecuencia fija
+ */
+public class OneEuroFilter {
+
+    private float minCutoff;        // Hz, corte con la señal quieta
+    private float beta;             // Cuánto sube el corte por unidad de velocidad
+    private final float derivativeCutoff;
+
+    private boolean initialized;
+    private float value;            // Última salida filtrada
+    private float derivative;       // Velocidad filtrada
+    private long lastTime;
+
+    public OneEuroFilter(float minCutoff, float beta, float derivativeCutoff) {
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+        this.derivativeCutoff = derivativeCutoff;
+    }
+
+    public void setParameters(float minCutoff, float beta) {
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+    }
+
+    /**
+     * Filtra una muestra
+     * @param time marca de tiempo en nanosegundos (System.nanoTime)
+     */
+    public float filter(float sample, long time) {
+        if (!initialized) {
+            initialized = true;
+            value = sample;
+            derivative = 0;
+            lastTime = time;
+            return value;
+        }
+        float dt = (time - lastTime) / 1e9f;
+        lastTime = time;
+        if (dt <= 0) dt = 1e-3f;  // Muestras con la misma marca de tiempo
+
+        float rawDerivative = (sample - value) / dt;
+        derivative += smoothing(derivativeCutoff, dt) * (rawDerivative - derivative);
+        float cutoff = minCutoff + beta * Math.abs(derivative);
+        value += smoothing(cutoff, dt) * (sample - value);
+        return value;
+    }
+
+    private static float smoothing(float cutoff, float dt) {
+        float tau = 1f / (2f * (float) Math.PI * cutoff);
+        return 1f / (1f + tau / dt);
+    }
+
+    public float getValue() {
+        return value;
+    }
+
+    public void reset() {
+        initialized = false;
+    }
+}
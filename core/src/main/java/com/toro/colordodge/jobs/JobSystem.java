@@ -0,0 +1,171 @@
+package com.toro.colordodge.jobs;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reparte un recorrido sobre índices entre hilos que viven todo el juego
+ * <p>
+ * parallelFor() divide [0, count) en trozos; los trabajadores y el hilo que
+ * llama toman trozos de un contador compartido hasta terminarlos, y la
+ * llamada vuelve cuando todos terminaron (así lo que sigue, por ejemplo el
+ * dibujo, ve todos los resultados). Cada trozo escribe solo en sus propios
+ * índices, por eso el resultado es el mismo con cualquier cantidad de hilos.
+ * Con menos de inlineThreshold elementos (o sin trabajadores) el recorrido se
+ * hace directo en el hilo que llama: para pocos bloques despertar hilos
+ * cuesta más que el trabajo
+ * <p>
+ * Entre llamadas los trabajadores esperan un momento activamente (dos
+ * llamadas seguidas en el mismo tick no pagan el despertar) y después se
+ * duermen. No asigna memoria por llamada
+ */
+public class JobSystem implements Closeable {
+
+    /**
+     * Trabajo sobre los índices [from, to); se llama desde varios hilos a la vez
+     */
+    public interface RangeJob {
+        void run(int from, int to);
+    }
+
+    private static final int CHUNKS_PER_THREAD = 4;   // Trozos extra para repartir mejor si un hilo se atrasa
+    private static final int MIN_CHUNK = 1024;        // Elementos por trozo como mínimo
+    private static final int SPIN_WAITS = 20_000;     // Vueltas de espera activa antes de dormir
+
+    private final Thread[] workers;
+    private volatile int inlineThreshold;
+    private volatile boolean running = true;
+
+    // === TRABAJO ACTUAL (se escribe antes de aumentar generation, que lo publica) ===
+    private RangeJob job;
+    private int count;
+    private int chunkSize;
+    private int chunks;
+    private volatile int generation;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final AtomicInteger finishedWorkers = new AtomicInteger();
+    private volatile Throwable failure;
+
+    /**
+     * @param workerCount hilos además del que llama (0 para hacer todo en el que llama)
+     * @param inlineThreshold cantidad de elementos desde la que se reparte el trabajo
+     */
+    public JobSystem(int workerCount, int inlineThreshold) {
+        this.inlineThreshold = inlineThreshold;
+        workers = new Thread[Math.max(0, workerCount)];
+        for (int i = 0; i < workers.length; i++) {
+            Thread worker = new Thread(this::workerLoop, "colordodge-job-" + i);
+            worker.setDaemon(true);
+            workers[i] = worker;
+            worker.start();
+        }
+    }
+
+    /**
+     * Un trabajador por núcleo, sin contar el del hilo que llama
+     */
+    public static int defaultWorkerCount() {
+        return Runtime.getRuntime().availableProcessors() - 1;
+    }
+
+    /**
+     * Ejecuta job sobre [0, count) repartido entre los hilos y espera a que termine
+     */
+    public void parallelFor(int count, RangeJob job) {
+        if (count <= 0) return;
+        if (workers.length == 0 || count < inlineThreshold) {
+            job.run(0, count);
+            return;
+        }
+        int threads = workers.length + 1;
+        int chunks = Math.max(1, Math.min(threads * CHUNKS_PER_THREAD, count / MIN_CHUNK));
+        this.job = job;
+        this.count = count;
+        this.chunkSize = (count + chunks - 1) / chunks;
+        this.chunks = chunks;
+        nextChunk.set(0);
+        finishedWorkers.set(0);
+        generation++;  // Escritura volátil: publica el trabajo a los trabajadores
+        for (Thread worker : workers) LockSupport.unpark(worker);
+
+        runChunks();
+
+        // Todos los trabajadores pasan por cada trabajo; al volver ninguno sigue
+        // leyendo los campos de este, así el próximo los puede reescribir
+        while (finishedWorkers.get() < workers.length) Thread.onSpinWait();
+        this.job = null;
+        Throwable error = failure;
+        if (error != null) {
+            failure = null;
+            if (error instanceof RuntimeException) throw (RuntimeException) error;
+            if (error instanceof Error) throw (Error) error;
+            throw new RuntimeException(error);
+        }
+    }
+
+    private void runChunks() {
+        RangeJob job = this.job;
+        int count = this.count, chunkSize = this.chunkSize, chunks = this.chunks;
+        int chunk;
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+            int from = chunk * chunkSize;
+            try {
+                job.run(from, Math.min(count, from + chunkSize));
+            } catch (Throwable e) {
+                if (failure == null) failure = e;
+            }
+        }
+    }
+
+    private void workerLoop() {
+        int seen = 0;
+        while (true) {
+            int spins = 0;
+            while (generation == seen && running) {
+                if (spins < SPIN_WAITS) {
+                    spins++;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+            if (!running) return;
+            seen = generation;
+            runChunks();
+            finishedWorkers.incrementAndGet();
+        }
+    }
+
+    public void setInlineThreshold(int inlineThreshold) {
+        this.inlineThreshold = inlineThreshold;
+    }
+
+    public int getInlineThreshold() {
+        return inlineThreshold;
+    }
+
+    /**
+     * Hilos que trabajan en un parallelFor repartido (trabajadores más el que llama)
+     */
+    public int getThreadCount() {
+        return workers.length + 1;
+    }
+
+    /**
+     * Detiene los trabajadores (no se debe llamar durante un parallelFor)
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) LockSupport.unpark(worker);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.toro.colordodge.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formato de los paquetes de la carrera de fantasmas
+ * <p>
+ * Cada paquete lleva los últimos ticks de la bola de un jugador (así perder un
+ * paquete no deja huecos), el puntaje y si ya perdió. La X se cuantiza a
+ * 1/4096 del ancho del mundo (0,26 px en 1080 px); se envía la más nueva
+ * completa y las anteriores como diferencia con la siguiente, en varint con
+ * signo (zigzag), que a la velocidad de la bola ocupa un byte por tick
+ * <pre>
+ * short  MAGIC
+ * byte   VERSION
+ * int    raceId       semilla compartida (los paquetes de otra carrera se ignoran)
+ * byte   run          partida del jugador (cambia al empezar otra, ver GhostTrack)
+ * int    newestTick
+ * byte   count        ticks incluidos (del más nuevo hacia atrás)
+ * varint score
+ * byte   flags        bit 0: perdió
+ * short  x[newestTick]
+ * varint zigzag(x[t] - x[t - 1]) para t = newestTick .. newestTick - count + 2
+ * </pre>
+ */
+final class GhostCodec {
+
+    static final short MAGIC = 0x4347;        // "CG"
+    static final byte VERSION = 2;            // 2: número de partida (run)
+    static final int X_STEPS = 4096;           // Resolución de la X cuantizada
+    static final int MAX_TICKS = 16;           // Ticks por paquete como máximo
+    static final int MAX_PACKET = 19 + 5 * MAX_TICKS;  // Peor caso en bytes
+
+    private static final int FLAG_LOST = 1;
+
+    private GhostCodec() {
+    }
+
+    static int quantize(float x, float worldWidth) {
+        int q = Math.round(x / worldWidth * (X_STEPS - 1));
+        return Math.max(0, Math.min(X_STEPS - 1, q));
+    }
+
+    static float dequantize(float q, float worldWidth) {
+        return q * worldWidth / (X_STEPS - 1);
+    }
+
+    /**
+     * Escribe un paquete con los "count" ticks más nuevos del historial
+     * @param history X cuantizada por tick, en un arreglo circular indexado con tick & mask
+     */
+    static void encode(ByteBuffer out, int raceId, int run, int newestTick, int count, int[] history, int mask,
+                       int score, boolean lost) {
+        out.putShort(MAGIC);
+        out.put(VERSION);
+        out.putInt(raceId);
+        out.put((byte) run);
+        out.putInt(newestTick);
+        out.put((byte) count);
+        putVarInt(out, score);
+        out.put((byte) (lost ? FLAG_LOST : 0));
+        int newer = history[newestTick & mask];
+        out.putShort((short) newer);
+        for (int k = 1; k < count; k++) {
+            int older = history[(newestTick - k) & mask];
+            int delta = newer - older;
+            putVarInt(out, (delta << 1) ^ (delta >> 31));  // Zigzag: números chicos con signo en pocos bytes
+            newer = older;
+        }
+    }
+
+    /**
+     * true si el paquete es de esta carrera y tiene la cabecera completa (mira
+     * sin moverse en el buffer). El puntaje es un varint de largo variable, así
+     * que no alcanza con un largo mínimo: un paquete cortado no debe llegar a decode()
+     */
+    static boolean accepts(ByteBuffer in, int raceId) {
+        int p = in.position(), limit = in.limit();
+        if (limit - p < 17 || in.getShort(p) != MAGIC || in.get(p + 2) != VERSION
+            || in.getInt(p + 3) != raceId) return false;
+        int q = p + 13;  // Primer byte del puntaje
+        for (int bytes = 0; ; bytes++) {
+            if (q >= limit || bytes == 5) return false;
+            if ((in.get(q++) & 0x80) == 0) break;
+        }
+        return limit - q >= 3;  // flags y la X más nueva
+    }
+
+    /**
+     * Lee un paquete y guarda sus ticks en el fantasma
+     * @return false si no es un paquete válido de esta carrera
+     */
+    static boolean decode(ByteBuffer in, int raceId, GhostTrack track, long arrivalNanos) {
+        if (!accepts(in, raceId)) return false;
+        in.position(in.position() + 7);  // MAGIC, VERSION y raceId ya revisados
+        int run = in.get() & 0xFF;
+        int newestTick = in.getInt();
+        int count = in.get() & 0xFF;
+        int score = getVarInt(in);
+        boolean lost = (in.get() & FLAG_LOST) != 0;
+        int x = in.getShort() & 0xFFFF;
+        if (!track.beginPacket(run, newestTick, score, lost, arrivalNanos)) return true;  // De una partida anterior
+        track.putSample(newestTick, x);
+        for (int k = 1; k < count && in.hasRemaining(); k++) {
+            int zigzag = getVarInt(in);
+            x -= (zigzag >>> 1) ^ -(zigzag & 1);
+            track.putSample(newestTick - k, x);
+        }
+        return true;
+    }
+
+    private static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35 && in.hasRemaining(); shift += 7) {
+            int b = in.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        return value;
+    }
+}
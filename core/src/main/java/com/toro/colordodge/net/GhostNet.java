@@ -0,0 +1,237 @@
+package com.toro.colordodge.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Carrera de fantasmas por UDP: cada jugador juega su propia partida con la
+ * misma semilla y ve la bola de los demás como un fantasma
+ * <p>
+ * Usa un DatagramChannel no bloqueante: poll() lee lo que haya llegado y
+ * vuelve enseguida, así se puede llamar en el hilo de render. Cada SEND_INTERVAL
+ * ticks se manda un paquete (ver GhostCodec) a todos los compañeros; los buffers
+ * directos de envío y recepción se reusan, sin asignar memoria por paquete.
+ * Un jugador que manda un paquete desde una dirección nueva se agrega como
+ * compañero, así alcanza con que uno conozca la dirección del otro
+ * <p>
+ * Guarda estadísticas para medir el costo: bytes por segundo por jugador
+ * (contando la cabecera IP/UDP) y nanosegundos de codificar y decodificar por paquete
+ */
+public class GhostNet implements Closeable {
+
+    public static final int SEND_INTERVAL = 3;               // Ticks entre paquetes (20 por segundo)
+    private static final int REDUNDANCY = 2;                 // Cada tick va en este número de paquetes seguidos
+    private static final int HISTORY = 16;                   // Ticks propios guardados (potencia de 2)
+    private static final int HISTORY_MASK = HISTORY - 1;
+    private static final int LOST_REPEATS = 3;               // Copias del último paquete (puede perderse uno)
+    private static final int UDP_OVERHEAD = 28;              // Cabecera IPv4 + UDP
+
+    private final DatagramChannel channel;
+    private final long seed;
+    private int raceId;
+    private float worldWidth = 1;
+    private final List<SocketAddress> peers = new ArrayList<>();
+    private final List<GhostTrack> ghosts = new ArrayList<>();
+
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(GhostCodec.MAX_PACKET);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(512);
+    private final int[] history = new int[HISTORY];          // X cuantizada de los últimos ticks
+    private int recorded;                                    // Ticks guardados en esta partida (hasta HISTORY)
+    private int run;                                         // Número de la partida propia (va en los paquetes)
+
+    // === ESTADÍSTICAS ===
+    private final long startNanos = System.nanoTime();
+    private long bytesSent, bytesReceived;
+    private int packetsSent, packetsReceived, packetsRejected;
+    private long encodeNanos, decodeNanos;
+    private int packetsEncoded;
+
+    /**
+     * @param port puerto local (0 para uno libre)
+     * @param seed semilla de la carrera; todos los jugadores usan la misma
+     */
+    public GhostNet(int port, long seed) throws IOException {
+        this.seed = seed;
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.bind(new InetSocketAddress(port));
+        setWorld(1, 1);
+    }
+
+    /**
+     * Tamaño del mundo de la partida; con otro tamaño los bloques salen en
+     * otros lugares, así que solo corren juntos jugadores con la misma semilla
+     * y el mismo tamaño (se llama antes de la primera partida)
+     */
+    public void setWorld(float worldWidth, float worldHeight) {
+        this.worldWidth = worldWidth;
+        int hash = (int) (seed ^ (seed >>> 32));
+        hash = 31 * hash + Float.floatToIntBits(worldWidth);
+        raceId = 31 * hash + Float.floatToIntBits(worldHeight);
+    }
+
+    public void addPeer(SocketAddress address) {
+        if (!peers.contains(address)) peers.add(address);
+    }
+
+    /**
+     * Empieza una partida propia nueva: los demás descartan el fantasma de la
+     * anterior y los paquetes no incluyen sus ticks
+     */
+    public void startRun() {
+        run++;
+        recorded = 0;
+        Arrays.fill(history, 0);
+    }
+
+    /**
+     * Guarda el estado propio después de un tick y manda el paquete si toca
+     */
+    public void record(int tick, float ballX, int score, boolean lost) throws IOException {
+        history[tick & HISTORY_MASK] = GhostCodec.quantize(ballX, worldWidth);
+        if (recorded < HISTORY) recorded++;
+        if (lost) {
+            for (int i = 0; i < LOST_REPEATS; i++) send(tick, score, true);
+        } else if (tick % SEND_INTERVAL == 0) {
+            send(tick, score, false);
+        }
+    }
+
+    private void send(int tick, int score, boolean lost) throws IOException {
+        if (peers.isEmpty()) return;
+        long start = System.nanoTime();
+        ByteBuffer out = sendBuffer;
+        out.clear();
+        int count = Math.min(recorded, SEND_INTERVAL * REDUNDANCY);  // Solo ticks de esta partida
+        GhostCodec.encode(out, raceId, run, tick, count, history, HISTORY_MASK, score, lost);
+        out.flip();
+        encodeNanos += System.nanoTime() - start;
+        packetsEncoded++;
+
+        int size = out.remaining();
+        for (int i = 0; i < peers.size(); i++) {
+            out.rewind();
+            // Si el buffer del sistema está lleno devuelve 0: el paquete se descarta, como en la red
+            if (channel.send(out, peers.get(i)) > 0) {
+                bytesSent += size + UDP_OVERHEAD;
+                packetsSent++;
+            }
+        }
+    }
+
+    /**
+     * Lee todos los paquetes que llegaron, sin esperar; se llama una vez por frame
+     */
+    public void poll() throws IOException {
+        ByteBuffer in = receiveBuffer;
+        while (true) {
+            in.clear();
+            SocketAddress from = channel.receive(in);
+            if (from == null) return;
+            long arrival = System.nanoTime();
+            in.flip();
+            if (!GhostCodec.accepts(in, raceId)) {
+                packetsRejected++;  // Otro juego, otra carrera o cortado: no se agrega como compañero
+                continue;
+            }
+            bytesReceived += in.remaining() + UDP_OVERHEAD;
+            packetsReceived++;
+            GhostCodec.decode(in, raceId, findGhost(from), arrival);
+            decodeNanos += System.nanoTime() - arrival;
+        }
+    }
+
+    private GhostTrack findGhost(SocketAddress from) {
+        for (int i = 0; i < ghosts.size(); i++) {
+            if (ghosts.get(i).getAddress().equals(from)) return ghosts.get(i);
+        }
+        GhostTrack ghost = new GhostTrack(from, worldWidth);
+        ghosts.add(ghost);
+        addPeer(from);
+        return ghost;
+    }
+
+    /**
+     * Avanza la reproducción de los fantasmas; se llama una vez por frame
+     */
+    public void update(float dt) {
+        long now = System.nanoTime();
+        for (int i = 0; i < ghosts.size(); i++) ghosts.get(i).update(dt, now);
+    }
+
+    public List<GhostTrack> getGhosts() {
+        return ghosts;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getLocalPort() throws IOException {
+        return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    // === ESTADÍSTICAS ===
+
+    /**
+     * Bytes por segundo que recibe cada compañero de este jugador
+     */
+    public float getUploadPerPeer() {
+        return peers.isEmpty() ? 0 : bytesSent / (float) peers.size() / elapsedSeconds();
+    }
+
+    /**
+     * Bytes por segundo que llegan de cada jugador remoto
+     */
+    public float getDownloadPerPlayer() {
+        return ghosts.isEmpty() ? 0 : bytesReceived / (float) ghosts.size() / elapsedSeconds();
+    }
+
+    public float getEncodeNanosPerPacket() {
+        return packetsEncoded == 0 ? 0 : encodeNanos / (float) packetsEncoded;
+    }
+
+    public float getDecodeNanosPerPacket() {
+        return packetsReceived == 0 ? 0 : decodeNanos / (float) packetsReceived;
+    }
+
+    public int getPacketsSent() {
+        return packetsSent;
+    }
+
+    public int getPacketsReceived() {
+        return packetsReceived;
+    }
+
+    /** Paquetes ignorados: de otro juego u otra carrera, o incompletos */
+    public int getPacketsRejected() {
+        return packetsRejected;
+    }
+
+    public String summary() {
+        int missed = 0;
+        for (int i = 0; i < ghosts.size(); i++) missed += ghosts.get(i).getMissedPackets();
+        return String.format(Locale.ROOT,
+            "ghost race: %d jugadores remotos, subida %.0f B/s por compañero, bajada %.0f B/s por jugador, "
+                + "%d enviados, %d recibidos (%d rechazados, %d perdidos), codificar %.0f ns, decodificar %.0f ns por paquete",
+            ghosts.size(), getUploadPerPeer(), getDownloadPerPlayer(), packetsSent, packetsReceived,
+            packetsRejected, missed, getEncodeNanosPerPacket(), getDecodeNanosPerPacket());
+    }
+
+    private float elapsedSeconds() {
+        return Math.max(1e-3f, (System.nanoTime() - startNanos) / 1e9f);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,175 @@
+package com.toro.colordodge.net;
+
+import com.toro.colordodge.sim.GameSimulation;
+import java.net.SocketAddress;
+
+/**
+ * Un jugador remoto: los ticks recibidos de su bola y el reloj con el que se
+ * reproduce
+ * <p>
+ * Los paquetes llegan cada pocos ticks y con variación (jitter), así que el
+ * fantasma no se dibuja en el último tick recibido sino unos ticks atrás
+ * (buffer de jitter). El retraso se ajusta con el jitter medido como en RTP
+ * (RFC 3550): la diferencia entre lo que tardó en llegar un paquete y lo que
+ * debería haber tardado según sus ticks, con media móvil. El reloj de
+ * reproducción avanza al ritmo local y se corrige de a poco hacia el objetivo,
+ * así el fantasma no salta; entre dos ticks la X se interpola
+ * <p>
+ * Cada paquete trae el número de partida del jugador: cuando cambia, lo
+ * guardado de la partida anterior se descarta (aunque no hayan llegado los
+ * paquetes de perder), y lo que llega tarde de una partida anterior se ignora
+ */
+public class GhostTrack {
+
+    private static final int SAMPLES = 256;                 // Ticks guardados (potencia de 2)
+    private static final int MASK = SAMPLES - 1;
+    private static final long TICK_NANOS = 1_000_000_000L / GameSimulation.TICK_RATE;
+    private static final float CORRECTION = 0.1f;           // Parte del error corregida por frame
+    private static final float SNAP_TICKS = 30;             // Con más error se salta directo
+    private static final int MAX_DELAY_TICKS = 30;
+
+    private final SocketAddress address;
+    private final float worldWidth;
+    private final int[] sampleTick = new int[SAMPLES];      // Tick guardado en cada lugar (para validar)
+    private final int[] sampleX = new int[SAMPLES];         // X cuantizada
+
+    // === ÚLTIMO PAQUETE ===
+    private int run = -1;                  // Partida del jugador (0 a 255, da la vuelta)
+    private int newestTick = -1;
+    private long lastArrival;
+    private int score;
+    private boolean lost;
+
+    // === JITTER Y REPRODUCCIÓN ===
+    private float jitterNanos;
+    private float playbackTick = -1;
+    private int packets;
+    private int missedPackets;             // Paquetes que no llegaron o llegaron tarde (estimado)
+
+    GhostTrack(SocketAddress address, float worldWidth) {
+        this.address = address;
+        this.worldWidth = worldWidth;
+        for (int i = 0; i < SAMPLES; i++) sampleTick[i] = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Empieza a leer un paquete
+     * @return false si es de una partida anterior (sus ticks no se guardan)
+     */
+    boolean beginPacket(int run, int tick, int score, boolean lost, long arrivalNanos) {
+        packets++;
+        if (run != this.run) {
+            if (this.run >= 0 && ((run - this.run) & 0xFF) >= 128) {
+                missedPackets++;  // Llegó tarde, de una partida anterior
+                return false;
+            }
+            reset();  // Empezó otra partida
+            this.run = run;
+        }
+        if (tick <= newestTick) {
+            if (tick < newestTick) missedPackets++;  // Llegó después de uno más nuevo
+            return true;
+        }
+        if (newestTick >= 0) {
+            int ticks = tick - newestTick;
+            missedPackets += Math.max(0, ticks / GhostNet.SEND_INTERVAL - 1);
+            long transit = (arrivalNanos - lastArrival) - ticks * TICK_NANOS;
+            jitterNanos += (Math.abs(transit) - jitterNanos) / 16f;
+        }
+        newestTick = tick;
+        lastArrival = arrivalNanos;
+        this.score = score;
+        this.lost = lost;
+        return true;
+    }
+
+    void putSample(int tick, int x) {
+        if (tick < 0) return;
+        int i = tick & MASK;
+        if (sampleTick[i] >= tick) return;
+        sampleTick[i] = tick;
+        sampleX[i] = x;
+    }
+
+    /**
+     * Avanza el reloj de reproducción; se llama una vez por frame
+     */
+    public void update(float dt, long nowNanos) {
+        if (newestTick < 0) return;
+        // Tick remoto estimado ahora (el último recibido más lo que pasó desde que llegó)
+        float estimated = newestTick + (nowNanos - lastArrival) / (float) TICK_NANOS;
+        float target = Math.min(estimated - getDelayTicks(), newestTick);
+        if (playbackTick < 0 || Math.abs(target - playbackTick) > SNAP_TICKS) {
+            playbackTick = target;
+            return;
+        }
+        playbackTick += dt * GameSimulation.TICK_RATE;
+        playbackTick += (target - playbackTick) * CORRECTION;
+        playbackTick = Math.min(playbackTick, newestTick);
+    }
+
+    /**
+     * Retraso de reproducción: lo que tarda en llegar el próximo paquete más
+     * dos veces el jitter medido
+     */
+    public int getDelayTicks() {
+        int jitterTicks = (int) Math.ceil(2 * jitterNanos / TICK_NANOS);
+        return Math.min(MAX_DELAY_TICKS, GhostNet.SEND_INTERVAL + jitterTicks + 1);
+    }
+
+    /**
+     * true si hay datos para dibujar el fantasma
+     */
+    public boolean isVisible() {
+        return playbackTick >= 0 && sampleTick[(int) playbackTick & MASK] == (int) playbackTick;
+    }
+
+    /**
+     * X del fantasma en el tick que se está reproduciendo, interpolada entre ticks
+     */
+    public float getX() {
+        int tick = (int) playbackTick;
+        float x = sampleX[tick & MASK];
+        int next = tick + 1;
+        if (sampleTick[next & MASK] == next) {
+            x += (sampleX[next & MASK] - x) * (playbackTick - tick);
+        }  // Si falta el siguiente se queda quieto
+        return GhostCodec.dequantize(x, worldWidth);
+    }
+
+    private void reset() {
+        for (int i = 0; i < SAMPLES; i++) sampleTick[i] = Integer.MIN_VALUE;
+        newestTick = -1;
+        playbackTick = -1;
+        jitterNanos = 0;
+        lost = false;
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    public int getNewestTick() {
+        return newestTick;
+    }
+
+    public float getJitterMillis() {
+        return jitterNanos / 1e6f;
+    }
+
+    public int getPackets() {
+        return packets;
+    }
+
+    public int getMissedPackets() {
+        return missedPackets;
+    }
+}
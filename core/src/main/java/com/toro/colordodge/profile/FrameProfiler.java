@@ -0,0 +1,240 @@
+package com.toro.colordodge.profile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Mide cuánto tarda cada fase del frame y guarda los últimos frames
+ * <p>
+ * Los tiempos y contadores se guardan en arreglos circulares preasignados, así
+ * medir no crea objetos. Solo el hilo del juego escribe; el índice de frames
+ * es volatile, así otro hilo puede leer los datos sin bloqueos. Los percentiles
+ * se ordenan en un arreglo propio de cada hilo que lee, así dos lectores no
+ * se pisan (el primer cálculo en cada hilo crea ese arreglo). Desactivado,
+ * cada llamada es solo una comparación, por eso puede quedar en las versiones
+ * de release
+ */
+public class FrameProfiler {
+
+    // === FASES DEL FRAME ===
+    public static final int INPUT = 0;
+    public static final int UPDATE = 1;     // Movimiento y limpieza de bloques
+    public static final int COLLISION = 2;
+    public static final int SPAWN = 3;
+    public static final int DRAW = 4;
+    public static final int HUD = 5;
+    public static final int PHASES = 6;
+    public static final String[] PHASE_NAMES = {"input", "update", "collision", "spawn", "draw", "hud"};
+
+    private final int capacity;             // Frames guardados
+    private boolean enabled;
+
+    // === FRAME ACTUAL ===
+    private long frameStart;
+    private final long[] phaseStart = new long[PHASES];
+    private final long[] phaseTime = new long[PHASES];  // Acumulado en este frame (puede haber varios ticks)
+
+    // === HISTORIAL (arreglos circulares) ===
+    private final long[] frameNanos;
+    private final long[][] phaseNanos;
+    private final int[] drawCalls;
+    private final int[] blockCounts;
+    private final long[] allocatedBytes;
+    private volatile long frames;           // Frames registrados en total
+    private int gcCount;                    // Veces que la memoria usada bajó (recolecciones)
+    private long lastUsedMemory;
+
+    // === LATENCIA DE ENTRADA (arreglo circular aparte: puede haber varios eventos por frame) ===
+    private final long[] inputLatency;
+    private long latencySamples;
+
+    private final ThreadLocal<long[]> scratch;  // Copia para ordenar al calcular percentiles (una por hilo)
+
+    public FrameProfiler(int capacity) {
+        this.capacity = capacity;
+        frameNanos = new long[capacity];
+        phaseNanos = new long[PHASES][capacity];
+        drawCalls = new int[capacity];
+        blockCounts = new int[capacity];
+        allocatedBytes = new long[capacity];
+        inputLatency = new long[capacity];
+        scratch = ThreadLocal.withInitial(() -> new long[capacity]);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) lastUsedMemory = usedMemory();
+    }
+
+    /**
+     * Marca el inicio de un frame
+     */
+    public void beginFrame() {
+        if (!enabled) return;
+        frameStart = System.nanoTime();
+        Arrays.fill(phaseTime, 0);
+    }
+
+    public void begin(int phase) {
+        if (!enabled) return;
+        phaseStart[phase] = System.nanoTime();
+    }
+
+    public void end(int phase) {
+        if (!enabled) return;
+        phaseTime[phase] += System.nanoTime() - phaseStart[phase];
+    }
+
+    /**
+     * Registra cuánto tardó un evento de entrada en llegar al tick que lo aplicó
+     */
+    public void recordInputLatency(long nanos) {
+        if (!enabled) return;
+        inputLatency[(int) (latencySamples % capacity)] = nanos;
+        latencySamples++;
+    }
+
+    /**
+     * Cierra el frame y lo guarda en el historial junto con los contadores
+     */
+    public void endFrame(int frameDrawCalls, int blocks) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        long frame = frames;
+        int slot = (int) (frame % capacity);
+
+        frameNanos[slot] = now - frameStart;
+        for (int p = 0; p < PHASES; p++) phaseNanos[p][slot] = phaseTime[p];
+        drawCalls[slot] = frameDrawCalls;
+        blockCounts[slot] = blocks;
+
+        // La memoria usada sube con cada asignación y baja cuando el GC recolecta
+        long used = usedMemory();
+        long delta = used - lastUsedMemory;
+        if (delta < 0) {
+            gcCount++;
+            delta = 0;
+        }
+        allocatedBytes[slot] = delta;
+        lastUsedMemory = used;
+
+        frames = frame + 1;  // Publica el frame (escritura volatile al final)
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Percentil (0 a 100) del tiempo de frame en milisegundos
+     */
+    public float framePercentile(float percentile) {
+        return percentile(frameNanos, storedFrames(), percentile);
+    }
+
+    /**
+     * Percentil (0 a 100) del tiempo de una fase en milisegundos
+     */
+    public float phasePercentile(int phase, float percentile) {
+        return percentile(phaseNanos[phase], storedFrames(), percentile);
+    }
+
+    /**
+     * Percentil (0 a 100) de la latencia de entrada en milisegundos
+     */
+    public float inputLatencyPercentile(float percentile) {
+        return percentile(inputLatency, (int) Math.min(latencySamples, capacity), percentile);
+    }
+
+    private float percentile(long[] ring, int count, float percentile) {
+        if (count == 0) return 0;
+        long[] scratch = this.scratch.get();
+        System.arraycopy(ring, 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+        int index = Math.min(count - 1, (int) Math.ceil(percentile / 100f * count) - 1);
+        return scratch[Math.max(0, index)] / 1_000_000f;
+    }
+
+    /**
+     * Cantidad de frames disponibles en el historial
+     */
+    public int storedFrames() {
+        return (int) Math.min(frames, capacity);
+    }
+
+    private int lastSlot() {
+        return (int) ((frames - 1) % capacity);
+    }
+
+    public int getLastDrawCalls() {
+        return frames == 0 ? 0 : drawCalls[lastSlot()];
+    }
+
+    public int getLastBlockCount() {
+        return frames == 0 ? 0 : blockCounts[lastSlot()];
+    }
+
+    /**
+     * Promedio de bytes asignados por frame en el historial (aproximado)
+     */
+    public long getAverageAllocatedBytes() {
+        int count = storedFrames();
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += allocatedBytes[i];
+        return total / count;
+    }
+
+    public int getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Escribe el historial como CSV, un frame por línea, del más viejo al más nuevo
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("frame,frame_ms");
+        for (String name : PHASE_NAMES) out.write("," + name + "_ms");
+        out.write(",draw_calls,blocks,allocated_bytes\n");
+
+        long last = frames;
+        int count = storedFrames();
+        for (long frame = last - count; frame < last; frame++) {
+            int slot = (int) (frame % capacity);
+            out.write(frame + "," + frameNanos[slot] / 1_000_000f);
+            for (int p = 0; p < PHASES; p++) out.write("," + phaseNanos[p][slot] / 1_000_000f);
+            out.write("," + drawCalls[slot] + "," + blockCounts[slot] + "," + allocatedBytes[slot] + "\n");
+        }
+    }
+
+    /**
+     * Escribe un resumen en JSON con percentiles p50/p95/p99 por fase y contadores
+     */
+    public void writeJson(Writer out) throws IOException {
+        out.write("{\n  \"frames\": " + storedFrames() + ",\n");
+        out.write("  \"frame_ms\": " + percentilesJson(frameNanos, storedFrames()) + ",\n");
+        out.write("  \"phases_ms\": {\n");
+        for (int p = 0; p < PHASES; p++) {
+            out.write("    \"" + PHASE_NAMES[p] + "\": " + percentilesJson(phaseNanos[p], storedFrames()));
+            out.write(p < PHASES - 1 ? ",\n" : "\n");
+        }
+        out.write("  },\n");
+        out.write("  \"input_latency_ms\": "
+            + percentilesJson(inputLatency, (int) Math.min(latencySamples, capacity)) + ",\n");
+        out.write("  \"draw_calls\": " + getLastDrawCalls() + ",\n");
+        out.write("  \"blocks\": " + getLastBlockCount() + ",\n");
+        out.write("  \"avg_allocated_bytes\": " + getAverageAllocatedBytes() + ",\n");
+        out.write("  \"gc_count\": " + gcCount + "\n}\n");
+    }
+
+    private String percentilesJson(long[] ring, int count) {
+        return "{\"p50\": " + percentile(ring, count, 50) + ", \"p95\": " + percentile(ring, count, 95)
+            + ", \"p99\": " + percentile(ring, count, 99) + "}";
+    }
+}
@@ -0,0 +1,111 @@
+package com.toro.colordodge.profile;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Disposable;
+import com.toro.colordodge.assets.ResourceRegistry;
+import com.toro.colordodge.assets.UserFiles;
+import com.toro.colordodge.render.GameRenderer;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Muestra en pantalla los datos de FrameProfiler (percentiles y contadores)
+ * El texto se rearma cada REFRESH_FRAMES frames para que el propio overlay no
+ * afecte lo que mide. También exporta el historial a CSV/JSON en local
+ */
+public class ProfilerOverlay implements Disposable {
+
+    private static final int REFRESH_FRAMES = 30;           // Frames entre actualizaciones del texto
+    private static final String EXPORT_DIR = "profiler/";   // Carpeta de UserFiles
+
+    private final FrameProfiler profiler;
+    private final ResourceRegistry resources;
+    private final BitmapFont font;
+    private final GlyphLayout layout = new GlyphLayout();
+    private final StringBuilder text = new StringBuilder(512);
+    private int framesUntilRefresh;
+
+    public ProfilerOverlay(FrameProfiler profiler, float scale, ResourceRegistry resources) {
+        this.profiler = profiler;
+        this.resources = resources;
+        font = resources.track("fuente del profiler", new BitmapFont());
+        font.getData().setScale(scale);
+        font.setColor(Color.YELLOW);
+    }
+
+    /**
+     * Activa o desactiva la medición y el overlay a la vez
+     */
+    public void toggle() {
+        profiler.setEnabled(!profiler.isEnabled());
+        framesUntilRefresh = 0;
+    }
+
+    public boolean isVisible() {
+        return profiler.isEnabled();
+    }
+
+    /**
+     * Dibuja el overlay arriba a la izquierda (con el batch del renderer abierto)
+     */
+    public void draw(GameRenderer renderer, float screenHeight) {
+        if (!profiler.isEnabled()) return;
+        if (--framesUntilRefresh <= 0) {
+            framesUntilRefresh = REFRESH_FRAMES;
+            rebuildText();
+        }
+        renderer.drawText(font, layout, 10, screenHeight - 10);
+    }
+
+    private void rebuildText() {
+        StringBuilder text = this.text;
+        text.setLength(0);
+        text.append("frame p50 ").append(profiler.framePercentile(50))
+            .append(" p95 ").append(profiler.framePercentile(95))
+            .append(" p99 ").append(profiler.framePercentile(99)).append(" ms\n");
+        for (int p = 0; p < FrameProfiler.PHASES; p++) {
+            text.append(FrameProfiler.PHASE_NAMES[p])
+                .append(" p50 ").append(profiler.phasePercentile(p, 50))
+                .append(" p99 ").append(profiler.phasePercentile(p, 99)).append('\n');
+        }
+        text.append("input p50 ").append(profiler.inputLatencyPercentile(50))
+            .append(" p95 ").append(profiler.inputLatencyPercentile(95)).append(" ms\n");
+        text.append("draw calls ").append(profiler.getLastDrawCalls())
+            .append("  blocks ").append(profiler.getLastBlockCount()).append('\n')
+            .append("alloc/frame ").append(profiler.getAverageAllocatedBytes())
+            .append(" B  gc ").append(profiler.getGcCount()).append('\n')
+            .append("gpu ").append(resources.getGpuBytes() / 1024).append(" / ")
+            .append(resources.getGpuBudget() / 1024).append(" KB  nativos ")
+            .append(resources.getNativeBytes() / 1024).append(" KB");
+        layout.setText(font, text);
+    }
+
+    /**
+     * Guarda el historial (CSV) y el resumen (JSON) en la carpeta del usuario
+     */
+    public void export() {
+        FileHandle dir = UserFiles.get(EXPORT_DIR);
+        try (Writer csv = dir.child("frames.csv").writer(false, "UTF-8")) {
+            profiler.writeCsv(csv);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("ColorDodge", "No se pudo exportar frames.csv", e);
+            return;
+        }
+        try (Writer json = dir.child("summary.json").writer(false, "UTF-8")) {
+            profiler.writeJson(json);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("ColorDodge", "No se pudo exportar summary.json", e);
+            return;
+        }
+        Gdx.app.log("ColorDodge", "Profiler exportado en " + dir.file().getAbsolutePath());
+    }
+
+    @Override
+    public void dispose() {
+        resources.release(font);
+    }
+}
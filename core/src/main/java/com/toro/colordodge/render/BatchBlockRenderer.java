@@ -0,0 +1,36 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.toro.colordodge.sim.BlockWorld;
+
+/**
+ * Dibuja cada bloque como un rectángulo del SpriteBatch
+ * Es el camino por defecto: comparte la textura de la bola, así que no agrega
+ * llamadas de dibujo, pero recalcula los vértices de todos los bloques cada frame
+ */
+public class BatchBlockRenderer implements BlockRenderer {
+
+    private final TextureRegion pixel;  // Región blanca 1x1
+
+    public BatchBlockRenderer(TextureRegion pixel) {
+        this.pixel = pixel;
+    }
+
+    @Override
+    public void draw(SpriteBatch batch, BlockWorld blocks, float offsetY, RenderStats stats) {
+        float[] colors = GameRenderer.PACKED_BLOCKS;
+        int count = blocks.size();
+        for (int i = 0; i < count; i++) {
+            if (!blocks.isAlive(i)) continue;  // Juntado en este tick, sin compactar todavía
+            batch.setPackedColor(colors[blocks.type(i)]);
+            batch.draw(pixel, blocks.x(i), blocks.y(i) + offsetY, blocks.width(i), blocks.height(i));
+        }
+        stats.addSprites(count);
+    }
+
+    @Override
+    public void dispose() {
+        // La región es de GameRenderer, no hay nada propio que liberar
+    }
+}
@@ -0,0 +1,25 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
+import com.toro.colordodge.sim.BlockWorld;
+
+/**
+ * Forma de dibujar los bloques de la partida
+ * GameRenderer llama a draw() con el batch abierto, entre la bola y el score
+ */
+public interface BlockRenderer extends Disposable {
+
+    /**
+     * Dibuja todos los bloques desplazados offsetY (interpolación)
+     * Al volver el batch debe seguir abierto
+     */
+    void draw(SpriteBatch batch, BlockWorld blocks, float offsetY, RenderStats stats);
+
+    /**
+     * Se perdió el contexto GL (Android): los objetos GL propios ya no existen
+     * y hay que crearlos de nuevo. Lo administrado por libGDX se recupera solo
+     */
+    default void contextLost() {
+    }
+}
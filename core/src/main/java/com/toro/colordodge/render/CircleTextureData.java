@@ -0,0 +1,93 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Círculo blanco generado por código, como textura "administrada" de libGDX
+ * <p>
+ * Si Android pierde el contexto GL, libGDX vuelve a subir solo las texturas
+ * administradas; esta genera el Pixmap de nuevo en ese momento y lo libera
+ * apenas se sube, así no queda una copia en memoria mientras tanto. Cuenta las
+ * subidas: si aumentan, el contexto se recreó (ver GameRenderer.resume())
+ */
+class CircleTextureData implements TextureData {
+
+    private final int size;
+    private Pixmap pixmap;
+    private int uploads;
+
+    CircleTextureData(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public TextureDataType getType() {
+        return TextureDataType.Pixmap;
+    }
+
+    @Override
+    public boolean isPrepared() {
+        return pixmap != null;
+    }
+
+    @Override
+    public void prepare() {
+        if (pixmap != null) throw new GdxRuntimeException("El círculo ya está preparado");
+        pixmap = new Pixmap(size, size, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fillCircle(size / 2, size / 2, size / 2 - 1);
+        uploads++;
+    }
+
+    @Override
+    public Pixmap consumePixmap() {
+        Pixmap result = pixmap;
+        pixmap = null;  // La textura lo libera después de subirlo (disposePixmap)
+        return result;
+    }
+
+    @Override
+    public boolean disposePixmap() {
+        return true;
+    }
+
+    @Override
+    public void consumeCustomData(int target) {
+        throw new GdxRuntimeException("El círculo no usa datos propios");
+    }
+
+    @Override
+    public int getWidth() {
+        return size;
+    }
+
+    @Override
+    public int getHeight() {
+        return size;
+    }
+
+    @Override
+    public Pixmap.Format getFormat() {
+        return Pixmap.Format.RGBA8888;
+    }
+
+    @Override
+    public boolean useMipMaps() {
+        return false;
+    }
+
+    @Override
+    public boolean isManaged() {
+        return true;
+    }
+
+    /**
+     * Veces que se generó y subió el círculo (1 más por cada contexto GL recreado)
+     */
+    int getUploads() {
+        return uploads;
+    }
+}
@@ -0,0 +1,170 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.Gdx;
+import java.util.Arrays;
+
+/**
+ * Decide cuándo y a cuántos FPS dibujar para gastar menos batería y calentar menos
+ * <p>
+ * En las pantallas quietas (inicio y "perdiste") deja de dibujar en continuo:
+ * solo se dibuja cuando llega una entrada, así la GPU y la CPU quedan casi sin
+ * uso. Durante la partida mide el tiempo de trabajo de cada frame (sin contar
+ * la espera de vsync) y baja los FPS objetivo si no llega a tiempo, o los sube
+ * cuando sobra margen. El estado térmico y el ahorro de batería (PowerState)
+ * ponen un tope. La simulación usa pasos fijos, así que bajar los FPS no cambia
+ * la jugabilidad, solo la suavidad
+ */
+public class FrameGovernor {
+
+    /**
+     * Estado de energía del dispositivo; cada plataforma lo implementa como puede
+     */
+    public interface PowerState {
+        PowerState NONE = new PowerState() {
+            @Override
+            public int thermalLevel() {
+                return 0;
+            }
+
+            @Override
+            public boolean isPowerSaving() {
+                return false;
+            }
+        };
+
+        /**
+         * 0 normal, 1 caliente, 2 limitando el rendimiento (throttling)
+         */
+        int thermalLevel();
+
+        /**
+         * true con el ahorro de batería activado o la batería baja sin cargar
+         */
+        boolean isPowerSaving();
+    }
+
+    private static final int WINDOW_FRAMES = 60;         // Frames entre decisiones
+    private static final float OVER_BUDGET = 0.8f;       // Frame "lento": usa más del 80% del presupuesto
+    private static final int SLOW_FRAMES_TO_DROP = 6;    // Frames lentos por ventana para bajar un nivel
+    private static final float HEADROOM_TO_RAISE = 0.5f; // Para subir: cabe en la mitad del presupuesto del nivel de arriba
+    private static final int CALM_WINDOWS_TO_RAISE = 3;  // Ventanas seguidas con margen para subir
+
+    private final int[] levels;            // FPS posibles, de mayor a menor
+    private final PowerState power;
+    private int level;                     // Nivel actual (índice en levels)
+    private boolean continuous = true;
+
+    // === VENTANA DE MEDICIÓN ===
+    private long frameStart;
+    private int frames;
+    private int slowFrames;
+    private long maxWork;                  // Frame más lento de la ventana (nanosegundos)
+    private int calmWindows;
+
+    /**
+     * @param refreshRate frecuencia del monitor; es el nivel más alto
+     */
+    public FrameGovernor(int refreshRate, PowerState power) {
+        this.power = power;
+        int top = Math.max(30, refreshRate);
+        int[] candidates = {top, 60, 45, 30};
+        int count = 0;
+        int[] unique = new int[candidates.length];
+        for (int fps : candidates) {
+            if (fps <= top && (count == 0 || fps < unique[count - 1])) unique[count++] = fps;
+        }
+        levels = Arrays.copyOf(unique, count);
+    }
+
+    /**
+     * Pantalla quieta: solo se dibuja cuando hay entrada (libGDX pide el frame
+     * solo al tocar o al apretar una tecla)
+     */
+    public void idle() {
+        if (!continuous) return;
+        continuous = false;
+        Gdx.graphics.setContinuousRendering(false);
+    }
+
+    /**
+     * Partida o pantalla que se está cargando: se vuelve a dibujar en continuo
+     */
+    public void active() {
+        if (continuous) return;
+        continuous = true;
+        Gdx.graphics.setContinuousRendering(true);
+        Gdx.graphics.requestRendering();
+        resetWindow();
+        calmWindows = 0;
+    }
+
+    /**
+     * Al principio de render() durante la partida
+     */
+    public void beginFrame() {
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Al final de render() durante la partida; cada WINDOW_FRAMES frames decide el nivel
+     */
+    public void endFrame() {
+        long work = System.nanoTime() - frameStart;
+        if (work > OVER_BUDGET * budget(level)) slowFrames++;
+        if (work > maxWork) maxWork = work;
+        if (++frames < WINDOW_FRAMES) return;
+
+        int target = level;
+        if (slowFrames >= SLOW_FRAMES_TO_DROP) {
+            target = level + 1;
+            calmWindows = 0;
+        } else if (level > 0 && maxWork < HEADROOM_TO_RAISE * budget(level - 1)) {
+            if (++calmWindows >= CALM_WINDOWS_TO_RAISE) {
+                target = level - 1;
+                calmWindows = 0;
+            }
+        } else {
+            calmWindows = 0;
+        }
+        setLevel(Math.max(target, highestAllowedLevel()));
+        resetWindow();
+    }
+
+    /**
+     * Índice del nivel más rápido permitido según el calor y la batería
+     */
+    private int highestAllowedLevel() {
+        int cap = Integer.MAX_VALUE;
+        if (power.thermalLevel() >= 2 || power.isPowerSaving()) cap = 30;
+        else if (power.thermalLevel() == 1) cap = 60;
+        int index = 0;
+        while (index < levels.length - 1 && levels[index] > cap) index++;
+        return index;
+    }
+
+    private void setLevel(int target) {
+        target = Math.min(target, levels.length - 1);
+        if (target == level) return;
+        level = target;
+        // +1 en el nivel más alto, como en el launcher, para monitores de frecuencia fraccionaria
+        Gdx.graphics.setForegroundFPS(level == 0 ? levels[0] + 1 : levels[level]);
+    }
+
+    private long budget(int level) {
+        return 1_000_000_000L / levels[level];
+    }
+
+    private void resetWindow() {
+        frames = 0;
+        slowFrames = 0;
+        maxWork = 0;
+    }
+
+    public int getTargetFps() {
+        return levels[level];
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+}
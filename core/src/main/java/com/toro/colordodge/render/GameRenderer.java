@@ -0,0 +1,190 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.toro.colordodge.assets.ResourceRegistry;
+import com.toro.colordodge.net.GhostTrack;
+import com.toro.colordodge.sim.BlockWorld;
+import com.toro.colordodge.sim.GameSimulation;
+import java.util.List;
+
+/**
+ * Dibuja la partida (barra, bola, bloques y partículas) con un solo SpriteBatch
+ * Todo usa la misma textura: un círculo blanco cuyo centro sirve como
+ * píxel blanco para los rectángulos, así no hay cambios de textura ni
+ * flushes entre la barra, la bola, los bloques y las partículas
+ */
+public class GameRenderer implements Disposable {
+
+    // === COLORES (empaquetados una vez, sin parsear en cada frame) ===
+    public static final Color COLOR_BAR = new Color(0, 0, 0, 0.3f);   // Negro semitransparente
+    public static final Color COLOR_GREEN = Color.valueOf("00E3A4");   // Verde menta
+    private static final float PACKED_BAR = COLOR_BAR.toFloatBits();
+    private static final float PACKED_GREEN = COLOR_GREEN.toFloatBits();
+    private static final float PACKED_WHITE = Color.WHITE.toFloatBits();
+    private static final float PACKED_GHOST = new Color(1, 1, 1, 0.35f).toFloatBits();
+    private static final float PACKED_GHOST_LOST = new Color(1, 1, 1, 0.12f).toFloatBits();
+    static final float[] PACKED_BLOCKS = new float[2];                  // Color según tipo de bloque
+
+    static {
+        PACKED_BLOCKS[BlockWorld.TYPE_WHITE] = PACKED_WHITE;
+        PACKED_BLOCKS[BlockWorld.TYPE_GREEN] = PACKED_GREEN;
+    }
+
+    private static final int CIRCLE_SIZE = 128;  // Resolución del círculo pre-dibujado
+
+    private final SpriteBatch batch;
+    private final ResourceRegistry resources;
+    private final CircleTextureData shapesData;  // Genera el círculo (también al recrear el contexto GL)
+    private final Texture shapes;         // Círculo blanco (su centro es el píxel blanco)
+    private final TextureRegion circle;   // Región con el círculo completo
+    private final TextureRegion pixel;    // Región 1x1 blanca para rectángulos
+    private final RenderStats stats = new RenderStats();
+    private final BlockRenderer batchBlocks;     // Bloques como rectángulos del batch
+    private BlockRenderer meshBlocks;            // Bloques desde un vertex buffer (se crea al usarlo)
+    private BlockRenderer blockRenderer;         // Camino activo
+    private final ParticleEffects effects = new ParticleEffects();
+    private int contextUploads;                  // Subidas del círculo vistas (cambia si se recreó el contexto)
+
+    public GameRenderer(SpriteBatch batch, ResourceRegistry resources) {
+        this.batch = batch;
+        this.resources = resources;
+
+        shapesData = new CircleTextureData(CIRCLE_SIZE);
+        shapes = resources.track("círculo", new Texture(shapesData));
+        shapes.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        contextUploads = shapesData.getUploads();
+
+        circle = new TextureRegion(shapes);
+        pixel = new TextureRegion(shapes, CIRCLE_SIZE / 2, CIRCLE_SIZE / 2, 1, 1);
+
+        batchBlocks = new BatchBlockRenderer(pixel);
+        blockRenderer = batchBlocks;
+    }
+
+    /**
+     * Cambia entre dibujar los bloques con el SpriteBatch o con el vertex buffer
+     * persistente (pensado para miles de bloques)
+     */
+    public void setUseMesh(boolean useMesh) {
+        if (useMesh && meshBlocks == null) {
+            meshBlocks = resources.track("bloques (vertex buffer)", new MeshBlockRenderer(1024));
+        }
+        blockRenderer = useMesh ? meshBlocks : batchBlocks;
+    }
+
+    public boolean isUsingMesh() {
+        return blockRenderer == meshBlocks;
+    }
+
+    /**
+     * Al volver de una pausa: si el contexto GL se recreó (el círculo se
+     * volvió a subir) se rehacen solo los objetos GL propios; las texturas,
+     * fuentes y shaders administrados ya los recargó libGDX
+     */
+    public void resume() {
+        if (shapesData.getUploads() == contextUploads) return;
+        contextUploads = shapesData.getUploads();
+        if (meshBlocks != null) meshBlocks.contextLost();
+    }
+
+    /**
+     * Empieza el frame de juego; el batch queda abierto para que el score se
+     * dibuje en la misma pasada
+     */
+    public void begin() {
+        stats.reset();
+        batch.begin();
+    }
+
+    /**
+     * Dibuja barra, bola y bloques interpolados según alpha
+     */
+    public void drawWorld(GameSimulation simulation, float alpha) {
+        SpriteBatch batch = this.batch;
+        float ballX = simulation.getBallX(alpha);
+        float ballY = simulation.getBallY();
+        float ballRadius = simulation.getBallRadius();
+        float barHeight = simulation.getBarHeight();
+
+        // Barra (pista)
+        batch.setPackedColor(PACKED_BAR);
+        batch.draw(pixel, simulation.getBarX(), ballY - barHeight / 2, simulation.getBarWidth(), barHeight);
+
+        // Bola
+        batch.setPackedColor(PACKED_GREEN);
+        batch.draw(circle, ballX - ballRadius, ballY - ballRadius, ballRadius * 2, ballRadius * 2);
+
+        stats.addSprites(2);
+
+        // Bloques
+        BlockWorld blocks = simulation.getBlocks();
+        blockRenderer.draw(batch, blocks, blocks.interpolationOffset(alpha), stats);
+
+        // Partículas (círculos pequeños, misma textura)
+        effects.getParticles().draw(batch, circle, stats);
+        batch.setPackedColor(PACKED_WHITE);
+    }
+
+    /**
+     * Dibuja las bolas de los jugadores remotos (carrera de fantasmas) en la
+     * altura de la bola propia; las que ya perdieron quedan más tenues
+     */
+    public void drawGhosts(List<GhostTrack> ghosts, float ballY, float ballRadius) {
+        int drawn = 0;
+        for (int i = 0, n = ghosts.size(); i < n; i++) {
+            GhostTrack ghost = ghosts.get(i);
+            if (!ghost.isVisible()) continue;
+            batch.setPackedColor(ghost.isLost() ? PACKED_GHOST_LOST : PACKED_GHOST);
+            float x = ghost.getX();
+            batch.draw(circle, x - ballRadius, ballY - ballRadius, ballRadius * 2, ballRadius * 2);
+            drawn++;
+        }
+        batch.setPackedColor(PACKED_WHITE);
+        stats.addSprites(drawn);
+    }
+
+    /**
+     * Dibuja texto ya armado en la misma pasada y lo suma a los contadores
+     */
+    public void drawText(BitmapFont font, GlyphLayout layout, float x, float y) {
+        font.draw(batch, layout, x, y);
+        int glyphs = 0;
+        for (int i = 0, n = layout.runs.size; i < n; i++) glyphs += layout.runs.get(i).glyphs.size;
+        stats.addSprites(glyphs);
+    }
+
+    /**
+     * Cierra el frame y guarda cuántas llamadas de dibujo se hicieron
+     */
+    public void end() {
+        batch.end();
+        stats.drawCalls += batch.renderCalls;
+    }
+
+    /**
+     * Efectos de partículas; se conectan a la simulación con setListener()
+     */
+    public ParticleEffects getEffects() {
+        return effects;
+    }
+
+    /**
+     * Contadores del último frame dibujado
+     */
+    public RenderStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void dispose() {
+        batchBlocks.dispose();
+        if (meshBlocks != null) resources.release(meshBlocks);
+        resources.release(shapes);
+    }
+}
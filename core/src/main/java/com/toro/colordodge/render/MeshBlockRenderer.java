@@ -0,0 +1,201 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.toro.colordodge.assets.ResourceRegistry;
+import com.toro.colordodge.sim.BlockWorld;
+import java.nio.FloatBuffer;
+
+/**
+ * Dibuja todos los bloques con una sola llamada desde un vertex buffer persistente
+ * <p>
+ * Cada bloque se guarda una vez en la GPU en "espacio de caída" (y + distancia
+ * caída), que no cambia mientras el bloque vive. El movimiento de todos los
+ * bloques se aplica en el shader con un uniform, así cada frame solo se suben
+ * los bloques que cambiaron desde BlockWorld.getDirtyFrom(). Usa triángulos sin
+ * índices para no depender del límite de índices de 16 bits de GLES2
+ * <p>
+ * Los bloques que salen por abajo son siempre los primeros: en vez de volver a
+ * subir todo, el dibujo empieza más adelante en el buffer (first) y los nuevos
+ * se agregan después del último. El buffer tiene el doble de lugar que los
+ * bloques vivos; al llegar al final se sube todo desde el principio, una vez
+ * cada tantos bloques como entran en la mitad libre
+ */
+public class MeshBlockRenderer implements BlockRenderer, ResourceRegistry.Sized {
+
+    private static final int VERTICES_PER_BLOCK = 6;   // Dos triángulos
+    private static final int FLOATS_PER_VERTEX = 3;    // x, y, color empaquetado
+    private static final int FLOATS_PER_BLOCK = VERTICES_PER_BLOCK * FLOATS_PER_VERTEX;
+    private static final int STRIDE = FLOATS_PER_VERTEX * 4;
+    private static final double REBASE_DISTANCE = 100000;  // Evita perder precisión en floats
+
+    private static final String VERTEX_SHADER =
+        "attribute vec2 a_position;\n"
+        + "attribute vec4 a_color;\n"
+        + "uniform mat4 u_projTrans;\n"
+        + "uniform float u_offsetY;\n"
+        + "varying vec4 v_color;\n"
+        + "void main() {\n"
+        + "    v_color = a_color;\n"
+        + "    gl_Position = u_projTrans * vec4(a_position.x, a_position.y + u_offsetY, 0.0, 1.0);\n"
+        + "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "varying vec4 v_color;\n"
+        + "void main() {\n"
+        + "    gl_FragColor = v_color;\n"
+        + "}\n";
+
+    private final ShaderProgram shader;
+    private int bufferHandle;         // Vertex buffer en la GPU
+    private int capacity;             // Bloques que entran en el buffer
+    private int first;                // Lugar en el buffer del bloque 0 (los anteriores ya salieron)
+    private float[] staging;          // Vértices a subir (reutilizado)
+    private FloatBuffer upload;       // Copia directa para glBufferSubData
+    private double base;              // Distancia caída usada como origen de las posiciones guardadas
+    private boolean reuploadAll;      // El buffer está vacío (nuevo contexto GL): subir todos los bloques
+
+    public MeshBlockRenderer(int initialCapacity) {
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("No se pudo compilar el shader de bloques: " + shader.getLog());
+        }
+        allocate(Math.max(64, initialCapacity));
+    }
+
+    @Override
+    public void draw(SpriteBatch batch, BlockWorld blocks, float offsetY, RenderStats stats) {
+        int count = blocks.size();
+        uploadChanges(blocks, count, stats);
+        if (count == 0) return;
+
+        // El batch usa otro shader: se cierra antes y se vuelve a abrir después
+        batch.end();
+        stats.drawCalls += batch.renderCalls;
+
+        GL20 gl = Gdx.gl;
+        gl.glEnable(GL20.GL_BLEND);
+        gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", batch.getProjectionMatrix());
+        shader.setUniformf("u_offsetY", (float) (base - blocks.getFallDistance()) + offsetY);
+
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+        int position = shader.getAttributeLocation("a_position");
+        int color = shader.getAttributeLocation("a_color");
+        shader.enableVertexAttribute(position);
+        shader.enableVertexAttribute(color);
+        shader.setVertexAttribute(position, 2, GL20.GL_FLOAT, false, STRIDE, 0);
+        shader.setVertexAttribute(color, 4, GL20.GL_UNSIGNED_BYTE, true, STRIDE, 8);
+        gl.glDrawArrays(GL20.GL_TRIANGLES, first * VERTICES_PER_BLOCK, count * VERTICES_PER_BLOCK);
+        shader.disableVertexAttribute(position);
+        shader.disableVertexAttribute(color);
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);  // SpriteBatch usa arreglos de cliente en GLES2
+
+        stats.drawCalls++;
+        stats.vertices += count * VERTICES_PER_BLOCK;
+        batch.begin();
+    }
+
+    /**
+     * Sube a la GPU solo los bloques desde el primer índice modificado; los
+     * que salieron por el principio solo corren el inicio del dibujo
+     */
+    private void uploadChanges(BlockWorld blocks, int count, RenderStats stats) {
+        double fallDistance = blocks.getFallDistance();
+        int from = Math.min(blocks.getDirtyFrom(), count);
+        first += blocks.getRemovedFromStart();
+        blocks.clearDirty();
+        if (fallDistance < base || fallDistance - base > REBASE_DISTANCE || reuploadAll) from = 0;  // clear(), reorigen o contexto nuevo
+        reuploadAll = false;
+        if (count * 2 > capacity) {
+            allocate(Math.max(count * 2, capacity * 2));  // Mitad libre para que first avance
+            from = 0;
+        }
+        if (first + count > capacity || count == 0) from = 0;  // Llegó al final: todo desde el principio
+        if (from == 0) {
+            base = fallDistance;
+            first = 0;
+        }
+        if (from >= count) return;
+
+        float shift = (float) (fallDistance - base);
+        float[] colors = GameRenderer.PACKED_BLOCKS;
+        float[] v = staging;
+        int k = 0;
+        for (int i = from; i < count; i++) {
+            float x1 = blocks.x(i), y1 = blocks.y(i) + shift;
+            float x2 = x1 + blocks.width(i), y2 = y1 + blocks.height(i);
+            float c = 0;
+            if (blocks.isAlive(i)) c = colors[blocks.type(i)];
+            else x2 = x1;  // Marcado para eliminar: triángulos sin área, no se ve
+            v[k++] = x1; v[k++] = y1; v[k++] = c;
+            v[k++] = x2; v[k++] = y1; v[k++] = c;
+            v[k++] = x2; v[k++] = y2; v[k++] = c;
+            v[k++] = x2; v[k++] = y2; v[k++] = c;
+            v[k++] = x1; v[k++] = y2; v[k++] = c;
+            v[k++] = x1; v[k++] = y1; v[k++] = c;
+        }
+        BufferUtils.copy(v, upload, k, 0);
+
+        GL20 gl = Gdx.gl;
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+        gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, (first + from) * FLOATS_PER_BLOCK * 4, k * 4, upload);
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        stats.uploadedBlocks += count - from;
+    }
+
+    /**
+     * Reserva el buffer de la GPU y los arreglos de subida para "blocks" bloques
+     */
+    private void allocate(int blocks) {
+        if (bufferHandle != 0) Gdx.gl.glDeleteBuffer(bufferHandle);
+        capacity = blocks;
+        staging = new float[capacity * FLOATS_PER_BLOCK];
+        upload = BufferUtils.newFloatBuffer(capacity * FLOATS_PER_BLOCK);
+        createBuffer();
+    }
+
+    /**
+     * El buffer viejo murió con el contexto (no se borra): se crea otro del
+     * mismo tamaño y se reusan los arreglos de subida, sin asignar memoria en Java.
+     * El shader lo recompila libGDX
+     */
+    @Override
+    public void contextLost() {
+        createBuffer();
+        reuploadAll = true;
+    }
+
+    private void createBuffer() {
+        GL20 gl = Gdx.gl;
+        bufferHandle = gl.glGenBuffer();
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+        gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity * FLOATS_PER_BLOCK * 4, null, GL20.GL_DYNAMIC_DRAW);
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+    }
+
+    @Override
+    public long gpuBytes() {
+        return (long) capacity * FLOATS_PER_BLOCK * 4;
+    }
+
+    @Override
+    public long nativeBytes() {
+        return (long) capacity * FLOATS_PER_BLOCK * 4;  // Copia directa para subir (upload)
+    }
+
+    @Override
+    public void dispose() {
+        shader.dispose();
+        if (bufferHandle != 0) Gdx.gl.glDeleteBuffer(bufferHandle);
+        bufferHandle = 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.toro.colordodge.sim.GameSimulation;
+
+/**
+ * Efectos de partículas para los eventos de la partida: una chispa verde al
+ * juntar un bloque verde y una explosión al chocar con uno blanco
+ */
+public class ParticleEffects implements GameSimulation.Listener {
+
+    private static final int MAX_PARTICLES = 8192;     // Partículas vivas como máximo
+    private static final int EMIT_BUDGET = 1024;       // Partículas nuevas por frame como máximo
+
+    private static final int GREEN = GameRenderer.COLOR_GREEN.toIntBits();
+    private static final int WHITE = Color.WHITE.toIntBits();
+
+    private final ParticleSystem particles = new ParticleSystem(MAX_PARTICLES, EMIT_BUDGET);
+
+    @Override
+    public void blockCollected(float x, float y, float width, float height) {
+        particles.emit(x + width / 2, y + height / 2, 32, 500f, 14f, 0.5f, GREEN);
+    }
+
+    @Override
+    public void ballHit(float ballX, float ballY, float ballRadius) {
+        particles.emit(ballX, ballY, 400, 900f, 18f, 0.9f, WHITE);
+        particles.emit(ballX, ballY, 200, 600f, 24f, 0.9f, GREEN);
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    public void update(float dt) {
+        particles.update(dt);
+    }
+
+    public void clear() {
+        particles.clear();
+    }
+}
@@ -0,0 +1,193 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Partículas guardadas en arreglos primitivos preasignados (una entrada por
+ * partícula en cada arreglo), sin objetos por partícula
+ * <p>
+ * Tiene dos límites fijos: la cantidad de partículas vivas (capacity) y cuántas
+ * se pueden crear por frame (emitBudget); lo que pase de ahí se descarta, así
+ * una ráfaga grande nunca hace más lento el frame. Las muertas se reemplazan
+ * con la última (el orden no importa). Se dibujan en el mismo SpriteBatch y
+ * con la misma textura que los bloques, escribiendo los vértices directamente
+ */
+public class ParticleSystem {
+
+    public static final int VERTICES_PER_PARTICLE = 20;  // 4 vértices x (x, y, color, u, v)
+    private static final int CHUNK = 256;                // Partículas por llamada a batch.draw()
+
+    private final int capacity;
+    private final int emitBudget;
+    private int emittedThisFrame;
+    private int count;
+
+    // === DATOS POR PARTÍCULA ===
+    private final float[] x, y;
+    private final float[] vx, vy;          // Velocidad (píxeles por segundo)
+    private final float[] life;            // Segundos restantes
+    private final float[] invMaxLife;      // 1 / duración total (para el desvanecido)
+    private final float[] size;
+    private final int[] rgb;               // Color ABGR sin alfa (el alfa se calcula con la vida)
+
+    private final float[] vertices = new float[CHUNK * VERTICES_PER_PARTICLE];
+    private float gravity = -900f;
+    private int randomState = 0x2545F491;  // Xorshift propio: no toca el Random de la simulación
+
+    public ParticleSystem(int capacity, int emitBudget) {
+        this.capacity = capacity;
+        this.emitBudget = emitBudget;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        invMaxLife = new float[capacity];
+        size = new float[capacity];
+        rgb = new int[capacity];
+    }
+
+    /**
+     * Crea hasta "amount" partículas en (px, py) que salen en todas direcciones
+     * @param abgr color en formato ABGR (como Color.toIntBits()); el alfa se ignora
+     * @return cuántas se crearon (menos si se llegó a algún límite)
+     */
+    public int emit(float px, float py, int amount, float speed, float particleSize, float duration, int abgr) {
+        int allowed = Math.min(amount, Math.min(emitBudget - emittedThisFrame, capacity - count));
+        if (allowed <= 0) return 0;
+        int color = abgr & 0x00FFFFFF;
+        for (int n = 0; n < allowed; n++) {
+            int i = count++;
+            float angle = nextFloat() * 6.2831855f;
+            float velocity = speed * (0.3f + 0.7f * nextFloat());
+            x[i] = px;
+            y[i] = py;
+            vx[i] = (float) Math.cos(angle) * velocity;
+            vy[i] = (float) Math.sin(angle) * velocity;
+            float lifetime = duration * (0.6f + 0.4f * nextFloat());
+            life[i] = lifetime;
+            invMaxLife[i] = 1f / lifetime;
+            size[i] = particleSize * (0.5f + 0.5f * nextFloat());
+            rgb[i] = color;
+        }
+        emittedThisFrame += allowed;
+        return allowed;
+    }
+
+    /**
+     * Mueve las partículas y elimina las que terminaron; reinicia el límite por frame
+     */
+    public void update(float dt) {
+        emittedThisFrame = 0;
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy, life = this.life;
+        float gravityStep = gravity * dt;
+        int i = 0;
+        while (i < count) {
+            float remaining = life[i] - dt;
+            if (remaining <= 0) {
+                moveLast(i);
+                continue;  // La última quedó en i: se procesa en esta misma vuelta
+            }
+            life[i] = remaining;
+            vy[i] += gravityStep;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+    }
+
+    private void moveLast(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        invMaxLife[i] = invMaxLife[last];
+        size[i] = size[last];
+        rgb[i] = rgb[last];
+    }
+
+    /**
+     * Escribe los vértices de las partículas [first, first + amount) en el formato del SpriteBatch
+     * @return cantidad de floats escritos
+     */
+    public int writeVertices(float[] out, int first, int amount, float u, float v, float u2, float v2) {
+        int index = 0;
+        for (int i = first, end = first + amount; i < end; i++) {
+            float half = size[i] * 0.5f;
+            float x1 = x[i] - half, y1 = y[i] - half;
+            float x2 = x1 + size[i], y2 = y1 + size[i];
+            int alpha = (int) (255 * life[i] * invMaxLife[i]);
+            float color = NumberUtils.intToFloatColor(alpha << 24 | rgb[i]);
+
+            out[index] = x1;
+            out[index + 1] = y1;
+            out[index + 2] = color;
+            out[index + 3] = u;
+            out[index + 4] = v2;
+
+            out[index + 5] = x1;
+            out[index + 6] = y2;
+            out[index + 7] = color;
+            out[index + 8] = u;
+            out[index + 9] = v;
+
+            out[index + 10] = x2;
+            out[index + 11] = y2;
+            out[index + 12] = color;
+            out[index + 13] = u2;
+            out[index + 14] = v;
+
+            out[index + 15] = x2;
+            out[index + 16] = y1;
+            out[index + 17] = color;
+            out[index + 18] = u2;
+            out[index + 19] = v2;
+            index += VERTICES_PER_PARTICLE;
+        }
+        return index;
+    }
+
+    /**
+     * Dibuja todas las partículas con la región indicada (el batch debe estar abierto)
+     */
+    public void draw(SpriteBatch batch, TextureRegion region, RenderStats stats) {
+        float[] vertices = this.vertices;
+        float u = region.getU(), v = region.getV(), u2 = region.getU2(), v2 = region.getV2();
+        for (int first = 0; first < count; first += CHUNK) {
+            int amount = Math.min(CHUNK, count - first);
+            int floats = writeVertices(vertices, first, amount, u, v, u2, v2);
+            batch.draw(region.getTexture(), vertices, 0, floats);
+        }
+        stats.addSprites(count);
+    }
+
+    public void clear() {
+        count = 0;
+        emittedThisFrame = 0;
+    }
+
+    public void setGravity(float gravity) {
+        this.gravity = gravity;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private float nextFloat() {
+        int s = randomState;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        randomState = s;
+        return (s >>> 8) * 0x1.0p-24f;
+    }
+}
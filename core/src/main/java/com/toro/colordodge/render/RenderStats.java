@@ -0,0 +1,31 @@
+package com.toro.colordodge.render;
+
+/**
+ * Contadores de dibujo del último frame
+ * Sirven para confirmar cuántas llamadas de dibujo llegan a la GPU
+ */
+public class RenderStats {
+
+    public int drawCalls;   // Llamadas de dibujo (flushes del SpriteBatch)
+    public int sprites;     // Rectángulos texturizados enviados
+    public int vertices;    // Vértices enviados (4 por rectángulo)
+    public int uploadedBlocks;  // Bloques subidos a un vertex buffer persistente
+
+    /**
+     * Pone los contadores en cero al empezar un frame
+     */
+    public void reset() {
+        drawCalls = 0;
+        sprites = 0;
+        vertices = 0;
+        uploadedBlocks = 0;
+    }
+
+    /**
+     * Suma rectángulos dibujados (cada uno son 4 vértices)
+     */
+    public void addSprites(int count) {
+        sprites += count;
+        vertices += count * 4;
+    }
+}
@@ -0,0 +1,64 @@
+package com.toro.colordodge.render;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+/**
+ * Muestra el score debajo de la bola y en el título de la ventana
+ * El texto y sus GlyphLayout solo se recalculan cuando el score cambia, y el
+ * título (llamada nativa en desktop) se actualiza como mucho cada TITLE_INTERVAL
+ */
+public class ScoreHud {
+
+    private static final long TITLE_INTERVAL = 250;  // Milisegundos entre cambios de título
+
+    private final BitmapFont font;           // Texto principal
+    private final BitmapFont fontShadow;     // Sombra del texto
+    private final GlyphLayout layout = new GlyphLayout();
+    private final GlyphLayout shadowLayout = new GlyphLayout();
+    private final ScoreText text = new ScoreText();
+    private final float halfRegionWidth;     // Desplazamiento horizontal del texto
+
+    // === TÍTULO DE LA VENTANA ===
+    private final boolean hasTitle;          // Solo desktop tiene título de ventana
+    private int titleScore = -1;             // Score mostrado en el título
+    private long lastTitleTime;              // Momento del último cambio de título
+
+    public ScoreHud(BitmapFont font, BitmapFont fontShadow) {
+        this.font = font;
+        this.fontShadow = fontShadow;
+        halfRegionWidth = font.getRegion().getRegionWidth() * 0.5f;
+        hasTitle = Gdx.app.getType() == Application.ApplicationType.Desktop;
+        layout.setText(font, text);
+        shadowLayout.setText(fontShadow, text);
+    }
+
+    /**
+     * Actualiza el texto si el score cambió y sincroniza el título de la ventana
+     */
+    public void update(int score) {
+        if (text.set(score)) {
+            layout.setText(font, text);
+            shadowLayout.setText(fontShadow, text);
+        }
+        if (hasTitle && score != titleScore) {
+            long now = System.currentTimeMillis();
+            if (now - lastTitleTime >= TITLE_INTERVAL) {
+                Gdx.graphics.setTitle("Score: " + score);
+                titleScore = score;
+                lastTitleTime = now;
+            }
+        }
+    }
+
+    /**
+     * Dibuja sombra y texto centrados en centerX, con la base en y
+     */
+    public void draw(GameRenderer renderer, float centerX, float y) {
+        float x = centerX - halfRegionWidth;
+        renderer.drawText(fontShadow, shadowLayout, x + 3, y - 3);
+        renderer.drawText(font, layout, x, y);
+    }
+}
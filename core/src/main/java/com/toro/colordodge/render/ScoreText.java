@@ -0,0 +1,64 @@
+package com.toro.colordodge.render;
+
+/**
+ * Texto de un número entero guardado en un arreglo de chars reutilizable
+ * Implementa CharSequence para pasarlo directo a GlyphLayout sin crear Strings
+ */
+public class ScoreText implements CharSequence {
+
+    private final char[] digits = new char[11];  // Alcanza para Integer.MIN_VALUE
+    private int length;
+    private int value;
+
+    public ScoreText() {
+        digits[0] = '0';
+        length = 1;
+    }
+
+    /**
+     * Escribe el número en el arreglo
+     * @return false si ya mostraba ese valor (no hay nada que actualizar)
+     */
+    public boolean set(int newValue) {
+        if (newValue == value) return false;
+        value = newValue;
+
+        // Se escriben los dígitos de atrás hacia adelante y luego se corren al inicio
+        char[] buffer = digits;
+        int pos = buffer.length;
+        long n = Math.abs((long) newValue);
+        do {
+            buffer[--pos] = (char) ('0' + (n % 10));
+            n /= 10;
+        } while (n != 0);
+        if (newValue < 0) buffer[--pos] = '-';
+        length = buffer.length - pos;
+        System.arraycopy(buffer, pos, buffer, 0, length);
+        return true;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) throw new IndexOutOfBoundsException(String.valueOf(index));
+        return digits[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(digits, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(digits, 0, length);
+    }
+}
@@ -0,0 +1,357 @@
+package com.toro.colordodge.sim;
+
+import com.toro.colordodge.jobs.JobSystem;
+import java.util.Arrays;
+
+/**
+ * Mundo de bloques guardado como estructura de arreglos (SoA)
+ * En lugar de un objeto por bloque se usan arreglos paralelos de floats
+ * (x, y, ancho, alto) y un byte con el tipo, así los recorridos de
+ * movimiento, limpieza y colisión son bucles simples sobre memoria contigua
+ * <p>
+ * Los bloques se mantienen ordenados por Y de menor a mayor. Como todos caen
+ * a la misma velocidad el orden no cambia al moverlos, y eso permite buscar
+ * solo los bloques a la altura de la bola (barrido y poda sobre el eje Y)
+ */
+public class BlockWorld {
+
+    // === TIPOS DE BLOQUE ===
+    public static final byte TYPE_WHITE = 0;   // Enemigo: termina la partida
+    public static final byte TYPE_GREEN = 1;   // Suma puntos
+    private static final byte TYPE_DEAD = -1;  // Marcado para eliminar
+
+    // === DATOS DE LOS BLOQUES (índice i = bloque i) ===
+    private float[] x, y, width, height;
+    private byte[] type;
+    private int size;        // Cantidad de bloques en uso
+    private int freed;       // Bloques marcados desde la última compactación
+    private float maxHeight; // Alto del bloque más alto (margen de búsqueda en Y)
+
+    private float fallSpeed; // Velocidad de caída (píxeles por segundo)
+    private float lastStep;  // Distancia recorrida en el último step() (para interpolar)
+    private double fallDistance;  // Distancia total caída desde el último clear()
+    private int dirtyFrom;   // Primer índice modificado desde clearDirty() (sin contar step())
+    private int removedFromStart;  // Bloques quitados del principio desde clearDirty() (no ensucian)
+
+    // === TRABAJO EN PARALELO (ver JobSystem; cada trozo escribe solo sus índices) ===
+    private byte[] hitMarks;                 // 1 si el bloque toca el círculo de markCircleHits()
+    private float jobDy;                     // Desplazamiento del step() en curso
+    private int jobFrom;                     // Primer índice del recorrido de colisión en curso
+    private float jobCx, jobCy, jobRadius;   // Círculo de la colisión en curso
+    private final JobSystem.RangeJob stepJob = this::stepRange;
+    private final JobSystem.RangeJob hitJob = this::markRange;
+
+    public BlockWorld(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        type = new byte[capacity];
+        hitMarks = new byte[capacity];
+    }
+
+    /**
+     * Agrega un bloque manteniendo el orden por Y y devuelve su índice
+     * Normalmente los bloques nuevos aparecen arriba y van al final sin mover nada
+     * Solo reserva memoria si se supera la capacidad actual
+     */
+    public int add(float bx, float by, float bw, float bh, byte blockType) {
+        if (size == x.length) grow();
+        int i = size++;
+        while (i > 0 && y[i - 1] > by) {
+            x[i] = x[i - 1];
+            y[i] = y[i - 1];
+            width[i] = width[i - 1];
+            height[i] = height[i - 1];
+            type[i] = type[i - 1];
+            i--;
+        }
+        if (blockType != TYPE_DEAD && bh > maxHeight) maxHeight = bh;
+        if (i < dirtyFrom) dirtyFrom = i;
+        x[i] = bx;
+        y[i] = by;
+        width[i] = bw;
+        height[i] = bh;
+        type[i] = blockType;
+        return i;
+    }
+
+    /**
+     * Mueve todos los bloques hacia abajo según la velocidad de caída
+     */
+    public void step(float dt) {
+        float dy = fallSpeed * dt;
+        lastStep = dy;
+        fallDistance += dy;
+        float[] y = this.y;
+        for (int i = 0, n = size; i < n; i++) {
+            y[i] -= dy;
+        }
+    }
+
+    /**
+     * Igual que step(dt), repartido en trozos entre los hilos de jobs
+     */
+    public void step(float dt, JobSystem jobs) {
+        float dy = fallSpeed * dt;
+        lastStep = dy;
+        fallDistance += dy;
+        jobDy = dy;
+        jobs.parallelFor(size, stepJob);
+    }
+
+    private void stepRange(int from, int to) {
+        float[] y = this.y;
+        float dy = jobDy;
+        for (int i = from; i < to; i++) {
+            y[i] -= dy;
+        }
+    }
+
+    /**
+     * Quita los bloques que quedaron completamente debajo de minY y los marcados
+     * con free(), en una sola pasada que conserva el orden
+     * <p>
+     * Los bloques salen por abajo, así que casi siempre se quitan los primeros:
+     * eso solo corre los índices (ver getRemovedFromStart()) y no ensucia nada.
+     * Solo una baja después de un bloque que queda cambia los datos desde ahí
+     * @return cantidad de bloques que salieron por debajo de minY
+     */
+    public int cull(float minY) {
+        float[] x = this.x, y = this.y, width = this.width, height = this.height;
+        byte[] type = this.type;
+        int write = 0, culled = 0, removedStart = 0;
+        int dirty = Integer.MAX_VALUE;
+        for (int read = 0, n = size; read < n; read++) {
+            boolean dead = type[read] == TYPE_DEAD;
+            if (dead || y[read] + height[read] < minY) {
+                if (!dead) culled++;
+                if (write == 0) removedStart++;
+                else if (write < dirty) dirty = write;
+                continue;
+            }
+            if (write != read) {
+                x[write] = x[read];
+                y[write] = y[read];
+                width[write] = width[read];
+                height[write] = height[read];
+                type[write] = type[read];
+            }
+            write++;
+        }
+        size = write;
+        freed = 0;
+        // Lo que ya estaba sucio se corrió con los índices
+        if (dirtyFrom != Integer.MAX_VALUE) dirty = Math.min(dirty, Math.max(0, dirtyFrom - removedStart));
+        dirtyFrom = dirty;
+        removedFromStart += removedStart;
+        return culled;
+    }
+
+    /**
+     * Primer índice que podría tocar la franja horizontal que empieza en minY
+     * (búsqueda binaria; los bloques anteriores están completamente debajo)
+     */
+    public int firstAbove(float minY) {
+        float limit = minY - maxHeight;
+        float[] y = this.y;
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (y[mid] < limit) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Devuelve el primer bloque vivo a partir de "from" que toca el círculo
+     * indicado, o -1 si no hay ninguno. Empezando desde firstAbove(cy - radius)
+     * solo se revisan los bloques cuya franja en Y alcanza al círculo
+     */
+    public int nextCircleHit(int from, float cx, float cy, float radius) {
+        float[] x = this.x, y = this.y, width = this.width, height = this.height;
+        byte[] type = this.type;
+        float maxY = cy + radius;
+        float radius2 = radius * radius;
+        for (int i = from, n = size; i < n; i++) {
+            float by = y[i];
+            if (by >= maxY) break;  // Ordenados por Y: el resto está más arriba
+            if (type[i] == TYPE_DEAD) continue;
+
+            // Punto del rectángulo más cercano al centro del círculo
+            float bx = x[i];
+            float nearestX = cx < bx ? bx : Math.min(cx, bx + width[i]);
+            float nearestY = cy < by ? by : Math.min(cy, by + height[i]);
+            float dx = cx - nearestX, dy = cy - nearestY;
+            if (dx * dx + dy * dy < radius2) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Prueba en paralelo el círculo contra los bloques desde "from" hasta el
+     * primero que está completamente arriba del círculo, y deja marcados los que
+     * lo tocan. Después se recorren en orden con nextMarkedHit(), así el
+     * resultado es el mismo que con nextCircleHit()
+     * @return fin (exclusivo) del recorrido
+     */
+    public int markCircleHits(int from, float cx, float cy, float radius, JobSystem jobs) {
+        float maxY = cy + radius;
+        float[] y = this.y;
+        int low = from, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (y[mid] < maxY) low = mid + 1;
+            else high = mid;
+        }
+        jobFrom = from;
+        jobCx = cx;
+        jobCy = cy;
+        jobRadius = radius;
+        jobs.parallelFor(low - from, hitJob);
+        return low;
+    }
+
+    private void markRange(int from, int to) {
+        float[] x = this.x, y = this.y, width = this.width, height = this.height;
+        byte[] type = this.type, hitMarks = this.hitMarks;
+        float cx = jobCx, cy = jobCy, radius2 = jobRadius * jobRadius;
+        for (int i = jobFrom + from, end = jobFrom + to; i < end; i++) {
+            float bx = x[i], by = y[i];
+            float nearestX = cx < bx ? bx : Math.min(cx, bx + width[i]);
+            float nearestY = cy < by ? by : Math.min(cy, by + height[i]);
+            float dx = cx - nearestX, dy = cy - nearestY;
+            hitMarks[i] = (byte) (type[i] != TYPE_DEAD && dx * dx + dy * dy < radius2 ? 1 : 0);
+        }
+    }
+
+    /**
+     * Primer bloque marcado por markCircleHits() en [from, end), o -1 si no hay ninguno
+     */
+    public int nextMarkedHit(int from, int end) {
+        byte[] hitMarks = this.hitMarks;
+        for (int i = from; i < end; i++) {
+            if (hitMarks[i] != 0 && type[i] != TYPE_DEAD) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Marca un bloque para eliminar; se quita en la siguiente compactación
+     * Así se puede llamar dentro de un recorrido sin mover índices
+     */
+    public void free(int index) {
+        if (type[index] != TYPE_DEAD) {
+            type[index] = TYPE_DEAD;
+            freed++;
+        }
+    }
+
+    /**
+     * Quita los bloques marcados con free() conservando el orden
+     */
+    public void compact() {
+        if (freed > 0) cull(-Float.MAX_VALUE);
+    }
+
+    /**
+     * Quita todos los bloques (los arreglos se conservan para reutilizarlos)
+     */
+    public void clear() {
+        size = 0;
+        lastStep = 0;
+        maxHeight = 0;
+        fallDistance = 0;
+        dirtyFrom = 0;
+        removedFromStart = 0;
+        freed = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float x(int i) {
+        return x[i];
+    }
+
+    public float y(int i) {
+        return y[i];
+    }
+
+    public float width(int i) {
+        return width[i];
+    }
+
+    public float height(int i) {
+        return height[i];
+    }
+
+    public byte type(int i) {
+        return type[i];
+    }
+
+    public boolean isAlive(int i) {
+        return type[i] != TYPE_DEAD;
+    }
+
+    public float getFallSpeed() {
+        return fallSpeed;
+    }
+
+    public void setFallSpeed(float fallSpeed) {
+        this.fallSpeed = fallSpeed;
+    }
+
+    /**
+     * Distancia total que cayeron los bloques desde el último clear()
+     * Como todos caen juntos, y + getFallDistance() es constante para cada bloque
+     * mientras siga vivo; un renderer puede guardar esa posición una sola vez
+     */
+    public double getFallDistance() {
+        return fallDistance;
+    }
+
+    /**
+     * Primer índice cuyos datos cambiaron (alta, baja o compactación) desde la
+     * última llamada a clearDirty(); size() o más si no cambió nada. Los
+     * bloques quitados del principio no cuentan: ver getRemovedFromStart()
+     */
+    public int getDirtyFrom() {
+        return dirtyFrom;
+    }
+
+    /**
+     * Bloques quitados del principio desde la última llamada a clearDirty():
+     * el bloque que estaba en el índice i + getRemovedFromStart() ahora está en i,
+     * sin otros cambios (salvo desde getDirtyFrom())
+     */
+    public int getRemovedFromStart() {
+        return removedFromStart;
+    }
+
+    public void clearDirty() {
+        dirtyFrom = Integer.MAX_VALUE;
+        removedFromStart = 0;
+    }
+
+    /**
+     * Desplazamiento vertical a sumar a cada bloque para dibujarlo entre el
+     * paso anterior (alpha = 0) y el actual (alpha = 1)
+     */
+    public float interpolationOffset(float alpha) {
+        return lastStep * (1f - alpha);
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        type = Arrays.copyOf(type, capacity);
+        hitMarks = Arrays.copyOf(hitMarks, capacity);
+    }
+}
@@ -0,0 +1,47 @@
+package com.toro.colordodge.sim;
+
+/**
+ * Reloj de paso fijo con acumulador
+ * Convierte el tiempo real entre frames en una cantidad entera de pasos de
+ * simulación, así la velocidad del juego no depende de los FPS de la pantalla
+ */
+public class FixedStepClock {
+
+    private final float stepTime;      // Duración de un paso (segundos)
+    private final float maxFrameTime;  // Tope de tiempo por frame (evita espirales tras pausas largas)
+    private float accumulator;         // Tiempo real pendiente de simular
+
+    public FixedStepClock(float stepTime, float maxFrameTime) {
+        this.stepTime = stepTime;
+        this.maxFrameTime = maxFrameTime;
+    }
+
+    /**
+     * Suma el tiempo del frame y devuelve cuántos pasos fijos hay que simular
+     */
+    public int advance(float frameTime) {
+        if (frameTime > maxFrameTime) frameTime = maxFrameTime;
+        if (frameTime > 0) accumulator += frameTime;
+        int steps = (int) (accumulator / stepTime);
+        accumulator -= steps * stepTime;
+        return steps;
+    }
+
+    /**
+     * Fracción del siguiente paso ya transcurrida (0 a 1), para interpolar el dibujo
+     */
+    public float alpha() {
+        return Math.min(1f, accumulator / stepTime);
+    }
+
+    public float getStepTime() {
+        return stepTime;
+    }
+
+    /**
+     * Descarta el tiempo pendiente (por ejemplo al empezar una partida)
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+}
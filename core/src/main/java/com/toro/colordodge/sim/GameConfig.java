@@ -0,0 +1,114 @@
+package com.toro.colordodge.sim;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Parámetros de una partida
+ * Los valores por defecto son los del juego; se pueden cambiar para pruebas o
+ * para ajustar la dificultad. Las velocidades están en píxeles por segundo
+ */
+public class GameConfig {
+
+    // === DIMENSIONES DEL MUNDO ===
+    public float worldWidth;
+    public float worldHeight;
+
+    // === JUGADOR (BOLA) ===
+    public float ballRadius = 40f;          // Radio de la bola
+    public float ballSpeed = 300f;          // Velocidad horizontal con teclado
+    public float tiltSensitivity = 120f;    // Píxeles por segundo por unidad del acelerómetro
+    public float ballHeightFraction = 0.35f;  // Altura de la bola (fracción del alto del mundo)
+
+    // === BARRA (PISTA) ===
+    public float barHeight = 30f;           // Altura de la barra
+    public float barWidthFraction = 0.8f;   // Ancho de la barra (fracción del ancho del mundo)
+
+    // === BLOQUES ===
+    public float blockWidth = 80;
+    public float blockHeight = 80;
+    public float blockSpeed = 450f;         // Velocidad de caída inicial
+    public float blockSpeedIncrement = 12f; // Aumento de velocidad por bloque verde
+
+    // === GENERACIÓN DE BLOQUES ===
+    public float spawnInterval = 0.8f;      // Segundos entre generaciones
+    public float greenChance = 0.15f;       // Probabilidad de que un bloque sea verde
+    public int minBlocksPerSpawn = 1;
+    public int maxBlocksPerSpawn = 2;
+    public float wallChance = 0f;           // Probabilidad de que una ola sea una pared con un hueco
+
+    public GameConfig(float worldWidth, float worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    /**
+     * Copia de esta configuración (para variar parámetros sin tocar el original)
+     */
+    public GameConfig copy() {
+        GameConfig copy = new GameConfig(worldWidth, worldHeight);
+        copy.ballRadius = ballRadius;
+        copy.ballSpeed = ballSpeed;
+        copy.tiltSensitivity = tiltSensitivity;
+        copy.ballHeightFraction = ballHeightFraction;
+        copy.barHeight = barHeight;
+        copy.barWidthFraction = barWidthFraction;
+        copy.blockWidth = blockWidth;
+        copy.blockHeight = blockHeight;
+        copy.blockSpeed = blockSpeed;
+        copy.blockSpeedIncrement = blockSpeedIncrement;
+        copy.spawnInterval = spawnInterval;
+        copy.greenChance = greenChance;
+        copy.minBlocksPerSpawn = minBlocksPerSpawn;
+        copy.maxBlocksPerSpawn = maxBlocksPerSpawn;
+        copy.wallChance = wallChance;
+        return copy;
+    }
+
+    /**
+     * Escribe todos los parámetros en binario (usado por las repeticiones)
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeFloat(worldWidth);
+        out.writeFloat(worldHeight);
+        out.writeFloat(ballRadius);
+        out.writeFloat(ballSpeed);
+        out.writeFloat(tiltSensitivity);
+        out.writeFloat(ballHeightFraction);
+        out.writeFloat(barHeight);
+        out.writeFloat(barWidthFraction);
+        out.writeFloat(blockWidth);
+        out.writeFloat(blockHeight);
+        out.writeFloat(blockSpeed);
+        out.writeFloat(blockSpeedIncrement);
+        out.writeFloat(spawnInterval);
+        out.writeFloat(greenChance);
+        out.writeByte(minBlocksPerSpawn);
+        out.writeByte(maxBlocksPerSpawn);
+        out.writeFloat(wallChance);
+    }
+
+    /**
+     * Lee los parámetros escritos con write()
+     */
+    public static GameConfig read(DataInput in) throws IOException {
+        GameConfig config = new GameConfig(in.readFloat(), in.readFloat());
+        config.ballRadius = in.readFloat();
+        config.ballSpeed = in.readFloat();
+        config.tiltSensitivity = in.readFloat();
+        config.ballHeightFraction = in.readFloat();
+        config.barHeight = in.readFloat();
+        config.barWidthFraction = in.readFloat();
+        config.blockWidth = in.readFloat();
+        config.blockHeight = in.readFloat();
+        config.blockSpeed = in.readFloat();
+        config.blockSpeedIncrement = in.readFloat();
+        config.spawnInterval = in.readFloat();
+        config.greenChance = in.readFloat();
+        config.minBlocksPerSpawn = in.readUnsignedByte();
+        config.maxBlocksPerSpawn = in.readUnsignedByte();
+        config.wallChance = in.readFloat();
+        return config;
+    }
+}
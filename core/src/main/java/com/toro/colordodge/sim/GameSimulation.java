@@ -0,0 +1,291 @@
+package com.toro.colordodge.sim;
+
+import com.toro.colordodge.jobs.JobSystem;
+import com.toro.colordodge.profile.FrameProfiler;
+
+/**
+ * Lógica del juego separada del dibujo
+ * Avanza en pasos fijos (tick) y no usa Gdx, así que se puede ejecutar y
+ * probar sin contexto gráfico. Es determinista: con la misma configuración,
+ * semilla y secuencia de entradas (ver TickInput) el estado es siempre igual
+ */
+public class GameSimulation {
+
+    /**
+     * Avisos de lo que pasa en un tick, para efectos visuales o sonido
+     * No debe cambiar la simulación (así sigue siendo determinista)
+     */
+    public interface Listener {
+        /** Se juntó un bloque verde (posición y tamaño del bloque) */
+        void blockCollected(float x, float y, float width, float height);
+
+        /** La bola tocó un bloque blanco y terminó la partida */
+        void ballHit(float ballX, float ballY, float ballRadius);
+    }
+
+    // === PASO FIJO ===
+    public static final int TICK_RATE = 60;                    // Pasos por segundo
+    public static final float TICK_TIME = 1f / TICK_RATE;      // Duración de un paso
+
+    private final GameConfig config;
+
+    // === JUGADOR (BOLA) ===
+    private float ballX, ballY;            // Posición de la bola
+    private float prevBallX;               // Posición en el paso anterior (para interpolar)
+    private final float ballRadius;
+
+    // === BARRA (PISTA) ===
+    private final float barWidth;          // Ancho de la barra
+    private final float barX;              // Posición X de la barra
+
+    // === BLOQUES ===
+    private final BlockWorld blocks;
+    private float blockSpeed;              // Velocidad de caída actual
+
+    // === GENERACIÓN DE BLOQUES ===
+    private final SpawnScheduler spawner;  // Olas generadas por adelantado
+    private long seed;                     // Semilla de la partida actual
+
+    // === ESTADO ===
+    private int tick;                      // Pasos simulados en la partida actual
+    private int score;
+    private boolean lost;                  // true desde que la bola toca un bloque blanco
+
+    private FrameProfiler profiler;        // Mide las fases del tick (opcional)
+    private Listener listener;             // Efectos de los eventos (opcional)
+    private JobSystem jobs;                // Reparte caída y colisión entre hilos (opcional)
+
+    public GameSimulation(GameConfig config, long seed) {
+        this.config = config;
+        ballRadius = config.ballRadius;
+        barWidth = config.worldWidth * config.barWidthFraction;
+        barX = (config.worldWidth - barWidth) / 2;
+        ballY = config.worldHeight * config.ballHeightFraction;
+
+        blocks = new BlockWorld(64);
+        spawner = new SpawnScheduler(config);
+        reset(seed);
+    }
+
+    /**
+     * Empieza una partida nueva con la semilla indicada
+     * Reinicia todo el estado, incluida la velocidad de los bloques
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        spawner.reset(seed);
+        blocks.clear();
+        ballX = prevBallX = config.worldWidth / 2;
+        blockSpeed = config.blockSpeed;
+        tick = 0;
+        score = 0;
+        lost = false;
+    }
+
+    /**
+     * Avanza la simulación un paso fijo
+     * @param input entrada empaquetada con TickInput.pack()
+     */
+    public void tick(int input) {
+        if (lost) return;
+        FrameProfiler profiler = this.profiler;
+        if (profiler != null) profiler.begin(FrameProfiler.UPDATE);
+        float dt = TICK_TIME;
+        tick++;
+        prevBallX = ballX;
+
+        // === MOVIMIENTO DE LA BOLA ===
+        int buttons = TickInput.buttons(input);
+        if ((buttons & TickInput.LEFT) != 0) ballX -= config.ballSpeed * dt;
+        if ((buttons & TickInput.RIGHT) != 0) ballX += config.ballSpeed * dt;
+        ballX -= TickInput.tilt(input) * config.tiltSensitivity * dt;
+
+        // Limitar movimiento dentro de la barra
+        float leftLimit = barX + ballRadius;
+        float rightLimit = barX + barWidth - ballRadius;
+        if (ballX < leftLimit) ballX = leftLimit;
+        if (ballX > rightLimit) ballX = rightLimit;
+
+        // === MOVER Y LIMPIAR BLOQUES ===
+        blocks.setFallSpeed(blockSpeed);
+        if (jobs != null) blocks.step(dt, jobs);
+        else blocks.step(dt);
+        blocks.cull(0);
+        if (profiler != null) {
+            profiler.end(FrameProfiler.UPDATE);
+            profiler.begin(FrameProfiler.COLLISION);
+        }
+
+        // === DETECCIÓN DE COLISIONES ===
+        // Solo se revisan los bloques a la altura de la bola (círculo contra rectángulo)
+        // En paralelo primero se marcan los choques y después se aplican en orden (mismo resultado)
+        int first = blocks.firstAbove(ballY - ballRadius);
+        if (jobs != null) {
+            int end = blocks.markCircleHits(first, ballX, ballY, ballRadius, jobs);
+            for (int i = blocks.nextMarkedHit(first, end); i >= 0; i = blocks.nextMarkedHit(i + 1, end)) {
+                if (touch(i)) return;
+            }
+        } else {
+            for (int i = blocks.nextCircleHit(first, ballX, ballY, ballRadius); i >= 0;
+                 i = blocks.nextCircleHit(i + 1, ballX, ballY, ballRadius)) {
+                if (touch(i)) return;
+            }
+        }
+        blocks.compact();
+        if (profiler != null) {
+            profiler.end(FrameProfiler.COLLISION);
+            profiler.begin(FrameProfiler.SPAWN);
+        }
+
+        // === GENERACIÓN DE BLOQUES ===
+        // Las olas ya están generadas (ver SpawnScheduler): aquí solo se copian al mundo
+        spawner.update(tick, blocks, blockSpeed);
+        if (profiler != null) profiler.end(FrameProfiler.SPAWN);
+    }
+
+    /**
+     * La bola tocó el bloque i
+     * @return true si era blanco y se perdió la partida
+     */
+    private boolean touch(int i) {
+        if (blocks.type(i) == BlockWorld.TYPE_WHITE) {
+            // Colisión con bloque blanco (enemigo) → Perder
+            lost = true;
+            blocks.compact();  // Un verde juntado en este tick no debe quedar en el mundo (se dibuja al perder)
+            if (listener != null) listener.ballHit(ballX, ballY, ballRadius);
+            if (profiler != null) profiler.end(FrameProfiler.COLLISION);
+            return true;
+        }
+        // Colisión con bloque verde → Sumar puntos
+        score++;
+        blockSpeed += config.blockSpeedIncrement;  // Aumentar dificultad
+        if (listener != null) {
+            listener.blockCollected(blocks.x(i), blocks.y(i), blocks.width(i), blocks.height(i));
+        }
+        blocks.free(i);
+        return false;
+    }
+
+    /**
+     * Asigna un profiler para medir las fases de cada tick (null para no medir)
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Asigna quién recibe los eventos de la partida (null para ninguno)
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Reparte la caída y la colisión de los bloques entre los hilos de jobs
+     * (null para hacer todo en el hilo que llama). El resultado es idéntico
+     */
+    public void setJobSystem(JobSystem jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Cambia los patrones de las próximas olas (con null vuelve a SpawnPattern.DEFAULT)
+     * Las ya generadas no cambian; para que la partida sea reproducible se
+     * asigna antes de reset()
+     */
+    public void setSpawnLibrary(SpawnPattern.Library library) {
+        spawner.setLibrary(library);
+    }
+
+    FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Resumen del estado (bola, score, velocidad y bloques) para comparar
+     * ejecuciones: dos simulaciones iguales dan el mismo valor
+     */
+    public long stateHash() {
+        long h = 0xcbf29ce484222325L;  // FNV-1a de 64 bits
+        h = mix(h, tick);
+        h = mix(h, score);
+        h = mix(h, lost ? 1 : 0);
+        h = mix(h, Float.floatToIntBits(ballX));
+        h = mix(h, Float.floatToIntBits(blockSpeed));
+        h = mix(h, spawner.getNextWave());
+        h = mix(h, spawner.getPendingBlocks());
+        for (int i = 0, n = blocks.size(); i < n; i++) {
+            h = mix(h, Float.floatToIntBits(blocks.x(i)));
+            h = mix(h, Float.floatToIntBits(blocks.y(i)));
+            h = mix(h, blocks.type(i));
+        }
+        return h;
+    }
+
+    private static long mix(long h, int value) {
+        for (int i = 0; i < 4; i++) {
+            h ^= (value >>> (i * 8)) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Posición X de la bola interpolada entre el paso anterior y el actual
+     */
+    public float getBallX(float alpha) {
+        return prevBallX + (ballX - prevBallX) * alpha;
+    }
+
+    public float getBallX() {
+        return ballX;
+    }
+
+    public float getBallY() {
+        return ballY;
+    }
+
+    public float getBallRadius() {
+        return ballRadius;
+    }
+
+    public float getBarX() {
+        return barX;
+    }
+
+    public float getBarWidth() {
+        return barWidth;
+    }
+
+    public float getBarHeight() {
+        return config.barHeight;
+    }
+
+    public BlockWorld getBlocks() {
+        return blocks;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+}
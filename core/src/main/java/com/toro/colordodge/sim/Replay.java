@@ -0,0 +1,204 @@
+package com.toro.colordodge.sim;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Repetición de una partida: configuración, semilla y la entrada de cada tick
+ * Las entradas se guardan como rachas (cantidad de ticks, entrada) porque la
+ * entrada suele repetirse muchos ticks seguidos; así una partida de minutos
+ * ocupa pocos cientos de bytes. Al reproducirla se obtiene exactamente la
+ * misma partida, lo que sirve para pruebas de regresión y reportes de errores
+ */
+public class Replay {
+
+    private static final int MAGIC = 0x43445250;  // "CDRP"
+    private static final int VERSION = 2;  // 2: olas de SpawnScheduler y wallChance
+
+    private final GameConfig config;
+    private long seed;
+    private int[] runLengths = new int[64];   // Ticks de cada racha
+    private int[] runInputs = new int[64];    // Entrada de cada racha
+    private int runs;                         // Rachas usadas
+    private int ticks;                        // Total de ticks grabados
+    private long finalHash;                   // stateHash() al terminar de grabar (0 si no se guardó)
+
+    public Replay(GameConfig config, long seed) {
+        this.config = config;
+        this.seed = seed;
+    }
+
+    /**
+     * Vacía la grabación para reutilizarla con una nueva semilla
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        runs = 0;
+        ticks = 0;
+        finalHash = 0;
+    }
+
+    /**
+     * Agrega la entrada de un tick
+     */
+    public void record(int input) {
+        if (runs > 0 && runInputs[runs - 1] == input && runLengths[runs - 1] < Integer.MAX_VALUE) {
+            runLengths[runs - 1]++;
+            ticks++;
+        } else {
+            appendRun(1, input);
+        }
+    }
+
+    private void appendRun(int length, int input) {
+        if (runs == runLengths.length) {
+            runLengths = Arrays.copyOf(runLengths, runs * 2);
+            runInputs = Arrays.copyOf(runInputs, runs * 2);
+        }
+        runLengths[runs] = length;
+        runInputs[runs] = input;
+        runs++;
+        ticks += length;
+    }
+
+    /**
+     * Guarda el resumen del estado final para poder verificar la repetición
+     */
+    public void finish(GameSimulation simulation) {
+        finalHash = simulation.stateHash();
+    }
+
+    /**
+     * Reproduce todas las entradas grabadas sobre una simulación nueva
+     */
+    public GameSimulation play() {
+        GameSimulation simulation = new GameSimulation(config, seed);
+        playInto(simulation);
+        return simulation;
+    }
+
+    /**
+     * Reinicia la simulación con la semilla grabada y aplica todas las entradas
+     */
+    public void playInto(GameSimulation simulation) {
+        simulation.reset(seed);
+        for (int r = 0; r < runs; r++) {
+            int input = runInputs[r];
+            for (int i = runLengths[r]; i > 0; i--) simulation.tick(input);
+        }
+    }
+
+    /**
+     * Recorre las entradas grabadas en orden, una por tick
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public final class Cursor {
+
+        private int run;       // Racha actual
+        private int used;      // Ticks ya devueltos de la racha actual
+
+        private Cursor() {
+        }
+
+        public boolean hasNext() {
+            return run < runs;
+        }
+
+        /**
+         * Entrada del próximo tick (solo si hasNext())
+         */
+        public int next() {
+            int input = runInputs[run];
+            if (++used == runLengths[run]) {
+                run++;
+                used = 0;
+            }
+            return input;
+        }
+    }
+
+    /**
+     * true si al reproducir se llega al mismo estado que al grabar
+     */
+    public boolean verify() {
+        return play().stateHash() == finalHash;
+    }
+
+    /**
+     * Escribe la repetición en binario
+     */
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        config.write(out);
+        out.writeLong(seed);
+        out.writeLong(finalHash);
+        writeVarInt(out, runs);
+        for (int r = 0; r < runs; r++) {
+            writeVarInt(out, runLengths[r]);
+            writeVarInt(out, runInputs[r]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee una repetición escrita con write()
+     */
+    public static Replay read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) throw new IOException("No es un archivo de repetición");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Versión de repetición no soportada: " + version);
+        Replay replay = new Replay(GameConfig.read(in), 0);
+        replay.seed = in.readLong();
+        replay.finalHash = in.readLong();
+        int runs = readVarInt(in);
+        for (int r = 0; r < runs; r++) {
+            int length = readVarInt(in);
+            replay.appendRun(length, readVarInt(in));
+        }
+        return replay;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Número mal codificado en la repetición");
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTickCount() {
+        return ticks;
+    }
+
+    public long getFinalHash() {
+        return finalHash;
+    }
+}
@@ -0,0 +1,78 @@
+package com.toro.colordodge.sim;
+
+import com.toro.colordodge.profile.FrameProfiler;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Foto de la partida en curso para seguirla si el sistema cierra el juego en pausa
+ * <p>
+ * No guarda bloques ni el estado del Random: guarda la repetición (semilla y
+ * entradas, pocos cientos de bytes) y un resumen del estado. Al restaurar se
+ * vuelven a simular los ticks sin dibujar, que como la simulación es
+ * determinista deja exactamente el mismo estado; minutos de partida se
+ * recalculan en pocos milisegundos y sin asignar memoria por tick. Si el
+ * resumen no coincide (por ejemplo otra versión del juego) la foto se descarta
+ */
+public class RunSnapshot {
+
+    private static final int MAGIC = 0x43445253;  // "CDRS"
+    private static final int VERSION = 1;
+
+    private final Replay replay;
+    private final long stateHash;
+
+    private RunSnapshot(Replay replay, long stateHash) {
+        this.replay = replay;
+        this.stateHash = stateHash;
+    }
+
+    /**
+     * Escribe la partida en curso (la repetición debe tener todos sus ticks)
+     */
+    public static void write(OutputStream output, Replay replay, GameSimulation simulation) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(simulation.stateHash());
+        replay.write(out);
+        out.flush();
+    }
+
+    /**
+     * Lee una foto escrita con write()
+     */
+    public static RunSnapshot read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) throw new IOException("No es una foto de partida");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Versión de foto no soportada: " + version);
+        long stateHash = in.readLong();
+        return new RunSnapshot(Replay.read(in), stateHash);
+    }
+
+    /**
+     * Deja la simulación en el estado guardado (sin avisar al Listener ni medir los ticks)
+     * @return false si el estado no coincide con el guardado
+     */
+    public boolean restore(GameSimulation simulation) {
+        FrameProfiler profiler = simulation.getProfiler();
+        GameSimulation.Listener listener = simulation.getListener();
+        simulation.setProfiler(null);   // Los ticks recalculados no son frames
+        simulation.setListener(null);   // Ni partículas de bloques ya juntados
+        replay.playInto(simulation);
+        simulation.setProfiler(profiler);
+        simulation.setListener(listener);
+        return simulation.stateHash() == stateHash && !simulation.isLost();
+    }
+
+    /**
+     * Repetición de la partida, para seguir grabándola
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+}
@@ -0,0 +1,64 @@
+package com.toro.colordodge.sim;
+
+import java.util.Random;
+
+/**
+ * Forma de una ola de bloques: qué bloques aparecen juntos y dónde
+ * <p>
+ * SpawnScheduler la llama varias olas antes de que aparezcan, así que puede
+ * tardar lo que necesite sin afectar el frame en que caen los bloques. Debe
+ * usar solo el Random que recibe (la partida sigue siendo determinista)
+ */
+public interface SpawnPattern {
+
+    /**
+     * Agrega los bloques de la ola con wave.add()
+     */
+    void generate(SpawnScheduler.Wave wave, Random random);
+
+    /**
+     * Elige el patrón de cada ola; permite generar contenido sin fin
+     * (por ejemplo leyendo patrones de un archivo o según el avance de la partida)
+     */
+    interface Library {
+        SpawnPattern next(Random random, GameConfig config, int waveIndex);
+    }
+
+    // === PATRONES INCLUIDOS ===
+
+    /**
+     * Ola clásica: entre min y max bloques en lugares al azar
+     */
+    SpawnPattern SCATTER = (wave, random) -> {
+        GameConfig config = wave.getConfig();
+        int range = config.maxBlocksPerSpawn - config.minBlocksPerSpawn + 1;
+        int blockCount = config.minBlocksPerSpawn + random.nextInt(range);
+        for (int i = 0; i < blockCount; i++) {
+            // Por defecto 15% de probabilidad de bloque verde, 85% de bloque blanco
+            byte blockType = random.nextFloat() < config.greenChance ?
+                BlockWorld.TYPE_GREEN : BlockWorld.TYPE_WHITE;
+            wave.add(random.nextInt((int) (config.worldWidth - config.blockWidth)), blockType);
+        }
+    };
+
+    /**
+     * Pared de bloques blancos de lado a lado con un solo hueco; a veces con un
+     * bloque verde en el hueco
+     */
+    SpawnPattern WALL = (wave, random) -> {
+        GameConfig config = wave.getConfig();
+        for (float x = 0; x + config.blockWidth <= config.worldWidth; x += config.blockWidth) {
+            if (!wave.overlapsGap(x)) wave.add(x, BlockWorld.TYPE_WHITE);
+        }
+        if (random.nextFloat() < config.greenChance) {
+            float center = (wave.getGapLeft() + wave.getGapRight()) / 2;
+            wave.add(center - config.blockWidth / 2, BlockWorld.TYPE_GREEN);
+        }
+    };
+
+    /**
+     * Biblioteca por defecto: olas clásicas y, con probabilidad wallChance, paredes
+     */
+    Library DEFAULT = (random, config, waveIndex) ->
+        config.wallChance > 0 && random.nextFloat() < config.wallChance ? WALL : SCATTER;
+}
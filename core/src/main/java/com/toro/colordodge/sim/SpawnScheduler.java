@@ -0,0 +1,244 @@
+package com.toro.colordodge.sim;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Genera las olas de bloques por adelantado y las entrega al mundo en su tick
+ * <p>
+ * Las olas se generan LOOKAHEAD_WAVES antes de que aparezcan, como máximo una
+ * por tick y nunca en el tick en que aparece una, y se guardan en un buffer
+ * circular de registros compactos (tick, X, tipo y adelanto). Así el tick en que
+ * caen los bloques solo los copia al mundo, aunque el patrón sea caro
+ * <p>
+ * La ola k aparece en el tiempo k * spawnInterval, calculado a partir de k y no
+ * sumando intervalos: no se acumula error. Como el tiempo ideal cae entre dos
+ * ticks, cada registro guarda cuánto antes debió aparecer y el bloque se pone
+ * más abajo lo que habría caído en ese tiempo
+ * <p>
+ * Cada ola tiene un hueco sin bloques blancos dentro de la barra, del ancho de
+ * la bola con margen. El hueco se mueve entre olas a lo sumo lo que la bola
+ * alcanza a recorrer con el teclado entre que pasa una ola y llega la siguiente
+ * (con la velocidad inicial de los bloques, la más lenta), así que siempre hay
+ * un camino; los bloques blancos que caen en el hueco se corren a un costado
+ */
+public class SpawnScheduler {
+
+    private static final int LOOKAHEAD_WAVES = 4;        // Olas listas antes de la que toca
+    private static final float GAP_SCALE = 1.5f;         // Ancho del hueco en diámetros de la bola
+    private static final double TICK_EPSILON = 1e-4;     // Tolerancia al redondear el tiempo a ticks
+
+    /**
+     * Ola en construcción; la reciben los patrones para agregar bloques
+     */
+    public static final class Wave {
+        private final GameConfig config;
+        private float gapLeft, gapRight;
+        private int index;
+        private float[] x = new float[16];
+        private byte[] type = new byte[16];
+        private int count;
+
+        Wave(GameConfig config) {
+            this.config = config;
+        }
+
+        /**
+         * Agrega un bloque en la parte de arriba del mundo; un bloque blanco
+         * que tapa el hueco se corre al costado más cercano
+         */
+        public void add(float bx, byte blockType) {
+            if (blockType == BlockWorld.TYPE_WHITE && overlapsGap(bx)) {
+                bx = bx + config.blockWidth / 2 < (gapLeft + gapRight) / 2
+                    ? gapLeft - config.blockWidth : gapRight;
+                bx = Math.max(0, Math.min(config.worldWidth - config.blockWidth, bx));
+                if (overlapsGap(bx)) return;  // No entra al costado: se descarta
+            }
+            if (count == x.length) {
+                x = Arrays.copyOf(x, count * 2);
+                type = Arrays.copyOf(type, count * 2);
+            }
+            x[count] = bx;
+            type[count] = blockType;
+            count++;
+        }
+
+        /**
+         * true si un bloque en esa X tapa parte del hueco
+         */
+        public boolean overlapsGap(float bx) {
+            return bx < gapRight && bx + config.blockWidth > gapLeft;
+        }
+
+        public GameConfig getConfig() {
+            return config;
+        }
+
+        public float getGapLeft() {
+            return gapLeft;
+        }
+
+        public float getGapRight() {
+            return gapRight;
+        }
+
+        /** Número de ola en la partida (la primera es 1) */
+        public int getIndex() {
+            return index;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private final GameConfig config;
+    private final double interval;         // spawnInterval en double (ver constructor)
+    private final Random random = new Random();
+    private final Wave wave;
+    private SpawnPattern.Library library = SpawnPattern.DEFAULT;
+
+    // === HUECO ===
+    private final float gapWidth;
+    private final float minGapCenter, maxGapCenter;
+    private final float maxGapShift;       // Lo que se mueve el hueco entre dos olas como máximo
+    private float gapCenter;
+
+    // === REGISTROS (buffer circular) ===
+    private int[] recordTick = new int[64];
+    private float[] recordX = new float[64];
+    private float[] recordLead = new float[64];    // Segundos entre el tiempo ideal y el tick
+    private byte[] recordType = new byte[64];
+    private int head, count;
+    private int nextWave;                  // Próxima ola a generar
+
+    public SpawnScheduler(GameConfig config) {
+        this.config = config;
+        // 0.8f no es exactamente 0.8: se usa el decimal escrito para que la ola 1000 no se corra un tick
+        interval = Double.parseDouble(Float.toString(config.spawnInterval));
+        wave = new Wave(config);
+        float barWidth = config.worldWidth * config.barWidthFraction;
+        float barX = (config.worldWidth - barWidth) / 2;
+        gapWidth = Math.min(barWidth, 2 * config.ballRadius * GAP_SCALE);
+        minGapCenter = barX + gapWidth / 2;
+        maxGapCenter = barX + barWidth - gapWidth / 2;
+        // Tiempo para moverse: desde que la ola termina de pasar la bola hasta que llega la siguiente
+        float passTime = (config.blockHeight + 2 * config.ballRadius) / config.blockSpeed;
+        maxGapShift = config.ballSpeed * Math.max(0, config.spawnInterval - passTime);
+        reset(0);
+    }
+
+    /**
+     * Vacía el buffer y genera las primeras olas de una partida nueva
+     */
+    public void reset(long seed) {
+        random.setSeed(seed);
+        gapCenter = config.worldWidth / 2;  // Donde empieza la bola
+        head = count = 0;
+        nextWave = 1;
+        while (nextWave <= LOOKAHEAD_WAVES) generateWave();
+    }
+
+    /**
+     * Cambia los patrones de las próximas olas (las ya generadas no cambian;
+     * para que la partida sea reproducible se asigna antes de reset())
+     */
+    public void setLibrary(SpawnPattern.Library library) {
+        this.library = library != null ? library : SpawnPattern.DEFAULT;
+    }
+
+    /**
+     * Agrega al mundo los bloques que tocan en este tick y genera la próxima
+     * ola si hace falta
+     * @param blockSpeed velocidad de caída actual (para el adelanto de cada bloque)
+     */
+    public void update(int tick, BlockWorld blocks, float blockSpeed) {
+        // Si el intervalo es más corto que un tick pueden faltar olas: se generan ya
+        while (waveTick(nextWave) <= tick) generateWave();
+
+        // === ENTREGA ===
+        // Los bloques de una ola van todos arriba: se agregan al final sin mover nada
+        int mask = recordTick.length - 1;
+        while (count > 0 && recordTick[head] <= tick) {
+            blocks.add(recordX[head], config.worldHeight - blockSpeed * recordLead[head],
+                config.blockWidth, config.blockHeight, recordType[head]);
+            head = (head + 1) & mask;
+            count--;
+        }
+
+        // === GENERACIÓN ANTICIPADA ===
+        // Una ola por tick, en el tick siguiente al que apareció una
+        if (waveTick(nextWave - LOOKAHEAD_WAVES) < tick) generateWave();
+    }
+
+    /**
+     * Tick en que aparece la ola k (el primero en o después de k * spawnInterval)
+     */
+    private int waveTick(int k) {
+        if (k <= 0) return 0;
+        return (int) Math.ceil(waveTime(k) * GameSimulation.TICK_RATE - TICK_EPSILON);
+    }
+
+    private double waveTime(int k) {
+        return k * interval;
+    }
+
+    private void generateWave() {
+        int k = nextWave++;
+        int tick = waveTick(k);
+        float lead = (float) Math.max(0, tick / (double) GameSimulation.TICK_RATE - waveTime(k));
+
+        // Mover el hueco dentro de lo que alcanza la bola
+        gapCenter += (random.nextFloat() * 2 - 1) * maxGapShift;
+        gapCenter = Math.max(minGapCenter, Math.min(maxGapCenter, gapCenter));
+        wave.gapLeft = gapCenter - gapWidth / 2;
+        wave.gapRight = gapCenter + gapWidth / 2;
+        wave.index = k;
+        wave.count = 0;
+        library.next(random, config, k).generate(wave, random);
+
+        // Copiar la ola al buffer
+        if (count + wave.count > recordTick.length) grow(count + wave.count);
+        int mask = recordTick.length - 1;
+        for (int i = 0; i < wave.count; i++) {
+            int r = (head + count) & mask;
+            recordTick[r] = tick;
+            recordX[r] = wave.x[i];
+            recordLead[r] = lead;
+            recordType[r] = wave.type[i];
+            count++;
+        }
+    }
+
+    private void grow(int needed) {
+        int capacity = recordTick.length;
+        while (capacity < needed) capacity *= 2;  // Siempre potencia de 2 (para la máscara)
+        int[] ticks = new int[capacity];
+        float[] xs = new float[capacity];
+        float[] leads = new float[capacity];
+        byte[] types = new byte[capacity];
+        int mask = recordTick.length - 1;
+        for (int i = 0; i < count; i++) {
+            int r = (head + i) & mask;
+            ticks[i] = recordTick[r];
+            xs[i] = recordX[r];
+            leads[i] = recordLead[r];
+            types[i] = recordType[r];
+        }
+        recordTick = ticks;
+        recordX = xs;
+        recordLead = leads;
+        recordType = types;
+        head = 0;
+    }
+
+    /** Próxima ola a generar */
+    public int getNextWave() {
+        return nextWave;
+    }
+
+    /** Bloques generados que todavía no aparecieron */
+    public int getPendingBlocks() {
+        return count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.toro.colordodge.sim;
+
+/**
+ * Entrada de un tick empaquetada en un int
+ * Bits 0-1: izquierda / derecha. Bits 8-15: acelerómetro en X cuantizado a
+ * décimas (con signo). Al cuantizar, la misma secuencia de ints produce
+ * siempre la misma partida, y se puede guardar de forma compacta
+ */
+public final class TickInput {
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    private static final int BUTTONS = LEFT | RIGHT;
+    private static final float TILT_SCALE = 10f;  // Décimas de m/s²
+
+    private TickInput() {
+    }
+
+    /**
+     * Empaqueta botones y acelerómetro (se limita a ±12.7)
+     */
+    public static int pack(int buttons, float tiltX) {
+        int tilt = Math.round(tiltX * TILT_SCALE);
+        if (tilt > Byte.MAX_VALUE) tilt = Byte.MAX_VALUE;
+        if (tilt < -Byte.MAX_VALUE) tilt = -Byte.MAX_VALUE;
+        return (buttons & BUTTONS) | ((tilt & 0xFF) << 8);
+    }
+
+    public static int buttons(int input) {
+        return input & BUTTONS;
+    }
+
+    public static float tilt(int input) {
+        return (byte) (input >> 8) / TILT_SCALE;
+    }
+}
@@ -0,0 +1,167 @@
+package com.toro.colordodge.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Carrera de fantasmas de punta a punta por loopback: dos GhostNet en puertos
+ * libres intercambian ticks, y los paquetes de otra carrera o cortados se
+ * ignoran sin excepciones. Al empezar otra partida el fantasma vuelve a
+ * seguirla aunque no hayan llegado los paquetes de perder
+ */
+class GhostNetTest {
+
+    private static final float WIDTH = 1080;
+    private static final float HEIGHT = 1920;
+    private static final float X_STEP = WIDTH / (GhostCodec.X_STEPS - 1);  // Error máximo de la cuantización
+    private static final long TIMEOUT_NANOS = 2_000_000_000L;
+
+    private GhostNet sender, receiver;
+
+    @BeforeEach
+    void open() throws IOException {
+        sender = new GhostNet(0, 7);
+        receiver = new GhostNet(0, 7);
+        sender.setWorld(WIDTH, HEIGHT);
+        receiver.setWorld(WIDTH, HEIGHT);
+        sender.addPeer(loopback(receiver.getLocalPort()));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        sender.close();
+        receiver.close();
+    }
+
+    @Test
+    void ghostFollowsRemoteBall() throws IOException {
+        for (int tick = 0; tick < 30; tick++) sender.record(tick, xAt(tick), 3, false);
+        pollUntil(() -> !receiver.getGhosts().isEmpty() && receiver.getGhosts().get(0).getNewestTick() == 27);
+
+        assertEquals(1, receiver.getGhosts().size());
+        GhostTrack ghost = receiver.getGhosts().get(0);
+        assertEquals(3, ghost.getScore());
+        assertFalse(ghost.isLost());
+        // Con el reloj muy adelantado la reproducción llega al último tick recibido
+        ghost.update(0, System.nanoTime() + TIMEOUT_NANOS * 10);
+        assertTrue(ghost.isVisible());
+        assertEquals(xAt(27), ghost.getX(), X_STEP);
+
+        sender.record(30, xAt(30), 4, true);
+        pollUntil(ghost::isLost);
+        assertEquals(4, ghost.getScore());
+    }
+
+    @Test
+    void newRunRestartsGhost() throws IOException {
+        // Partida corta sin paquetes de perder (por ejemplo, se perdieron todos)
+        for (int tick = 1; tick <= 30; tick++) sender.record(tick, xAt(tick), 2, false);
+        pollUntil(() -> !receiver.getGhosts().isEmpty() && receiver.getGhosts().get(0).getNewestTick() == 30);
+        GhostTrack ghost = receiver.getGhosts().get(0);
+
+        sender.startRun();
+        for (int tick = 1; tick <= 6; tick++) sender.record(tick, xAt(tick + 100), 0, false);
+        pollUntil(() -> ghost.getNewestTick() == 6);
+        assertEquals(0, ghost.getScore());
+        ghost.update(0, System.nanoTime() + TIMEOUT_NANOS * 10);
+        assertTrue(ghost.isVisible());
+        assertEquals(xAt(106), ghost.getX(), X_STEP);
+    }
+
+    @Test
+    void packetsOnlyCarryTicksOfThisRun() throws IOException {
+        for (int tick = 1; tick <= 30; tick++) sender.record(tick, xAt(tick), 0, false);
+        sender.startRun();
+        try (DatagramChannel spy = openSpy()) {  // Solo recibe paquetes de la partida nueva
+            sender.record(1, xAt(1), 0, false);
+            sender.record(2, xAt(2), 0, false);
+            sender.record(3, xAt(3), 0, false);
+            ByteBuffer packet = receive(spy);
+            assertEquals(3, packet.getInt(8), "Tick más nuevo");
+            assertEquals(3, packet.get(12), "Solo los ticks 1 a 3: el 0 es de la partida anterior");
+        }
+    }
+
+    @Test
+    void otherRaceIsRejected() throws IOException {
+        try (GhostNet other = new GhostNet(0, 8)) {
+            other.setWorld(WIDTH, HEIGHT);
+            other.addPeer(loopback(receiver.getLocalPort()));
+            other.record(0, xAt(0), 1, false);
+            pollUntil(() -> receiver.getPacketsRejected() > 0);
+        }
+        assertTrue(receiver.getGhosts().isEmpty());
+        assertEquals(0, receiver.getPacketsReceived());
+    }
+
+    @Test
+    void truncatedPacketIsRejected() throws IOException {
+        int spyPort;
+        try (DatagramChannel spy = openSpy()) {
+            spyPort = ((InetSocketAddress) spy.getLocalAddress()).getPort();
+
+            // Un puntaje de 3 bytes en varint: la cabecera ocupa 19 bytes, se corta en 17
+            sender.record(0, xAt(0), 100_000, false);
+            ByteBuffer packet = receive(spy);
+            packet.limit(17);
+            spy.send(packet, loopback(receiver.getLocalPort()));
+        }
+        pollUntil(() -> receiver.getPacketsRejected() > 0);
+        for (GhostTrack ghost : receiver.getGhosts()) {
+            assertTrue(((InetSocketAddress) ghost.getAddress()).getPort() != spyPort,
+                "El que mandó el paquete cortado no debe agregarse como jugador");
+        }
+    }
+
+    /**
+     * Canal que recibe lo que manda sender, para mirar los paquetes
+     */
+    private DatagramChannel openSpy() throws IOException {
+        DatagramChannel spy = DatagramChannel.open();
+        spy.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        spy.configureBlocking(false);
+        sender.addPeer(spy.getLocalAddress());
+        return spy;
+    }
+
+    private static ByteBuffer receive(DatagramChannel spy) throws IOException {
+        ByteBuffer packet = ByteBuffer.allocate(512);
+        long start = System.nanoTime();
+        while (spy.receive(packet) == null) {
+            if (System.nanoTime() - start > TIMEOUT_NANOS) fail("No llegó el paquete");
+            Thread.onSpinWait();
+        }
+        packet.flip();
+        return packet;
+    }
+
+    private static float xAt(int tick) {
+        return 100 + tick * 5.5f;
+    }
+
+    private static InetSocketAddress loopback(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private void pollUntil(BooleanSupplier condition) throws IOException {
+        long start = System.nanoTime();
+        while (true) {
+            receiver.poll();
+            if (condition.getAsBoolean()) return;
+            if (System.nanoTime() - start > TIMEOUT_NANOS) fail("No llegaron los paquetes esperados");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.toro.colordodge.sim;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Miles de ticks sin contexto gráfico: después del calentamiento la simulación
+ * no debe reservar memoria (ni al generar bloques ni al empezar otra partida)
+ */
+class AllocationTest {
+
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 20_000;
+    private static final long TOLERANCE_BYTES = 1024;  // Margen para el propio ThreadMXBean
+
+    @Test
+    void ticksDoNotAllocateAfterWarmup() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "La JVM no mide la memoria por hilo");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "La JVM no mide la memoria por hilo");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        GameSimulation simulation = new GameSimulation(new GameConfig(1080, 1920), 1);
+        Player player = new Player();
+        player.play(simulation, WARMUP_TICKS);
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        int games = player.play(simulation, MEASURED_TICKS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(games > 1, "La prueba debe incluir reinicios de partida");
+        assertTrue(allocated <= TOLERANCE_BYTES,
+            "Se reservaron " + allocated + " bytes en " + MEASURED_TICKS + " ticks");
+    }
+
+    /**
+     * Jugador simple: va de un lado al otro y al perder empieza otra partida
+     */
+    private static final class Player {
+        private long seed = 1;
+        private int tick;
+
+        /**
+         * @return partidas jugadas (incluida la que queda en curso)
+         */
+        int play(GameSimulation simulation, int ticks) {
+            int games = 1;
+            for (int i = 0; i < ticks; i++) {
+                int buttons = (tick++ / 45 & 1) == 0 ? TickInput.LEFT : TickInput.RIGHT;
+                simulation.tick(TickInput.pack(buttons, 0));
+                if (simulation.isLost()) {
+                    simulation.reset(++seed);
+                    games++;
+                }
+            }
+            return games;
+        }
+    }
+}
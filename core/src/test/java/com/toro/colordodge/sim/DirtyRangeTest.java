@@ -0,0 +1,75 @@
+package com.toro.colordodge.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rango que MeshBlockRenderer tiene que volver a subir: los bloques que salen
+ * por abajo solo corren los índices (getRemovedFromStart()) y en una partida
+ * normal cada frame se suben solo los bloques nuevos
+ */
+class DirtyRangeTest {
+
+    @Test
+    void bottomCullOnlyShiftsIndices() {
+        BlockWorld world = new BlockWorld(16);
+        for (int i = 0; i < 10; i++) world.add(0, i * 100, 80, 80, BlockWorld.TYPE_WHITE);
+        world.clearDirty();
+        world.setFallSpeed(100 * GameSimulation.TICK_RATE);  // Baja 100 por paso: sale uno por paso
+
+        for (int step = 0; step < 1000; step++) {
+            world.step(GameSimulation.TICK_TIME);
+            int culled = world.cull(0);
+            world.add(0, 900, 80, 80, BlockWorld.TYPE_WHITE);
+            assertEquals(culled, world.getRemovedFromStart());
+            assertEquals(world.size() - 1, world.getDirtyFrom(), "Solo el bloque nuevo cambia");
+            world.clearDirty();
+        }
+    }
+
+    @Test
+    void freeInTheMiddleDirtiesFromThere() {
+        BlockWorld world = new BlockWorld(16);
+        for (int i = 0; i < 10; i++) world.add(0, i * 100, 80, 80, BlockWorld.TYPE_GREEN);
+        world.clearDirty();
+        world.free(0);
+        world.free(4);
+        world.compact();
+        assertEquals(1, world.getRemovedFromStart());
+        assertEquals(3, world.getDirtyFrom());  // El bloque 4 original quedó en 3 al quitar el primero
+    }
+
+    @Test
+    void steadyStateUploadsOnlyNewBlocks() {
+        GameSimulation simulation = new GameSimulation(new GameConfig(1080, 1920), 3);
+        BlockWorld blocks = simulation.getBlocks();
+        long seed = 3;
+        int checkedTicks = 0, uploaded = 0, sizeSum = 0;
+        for (int tick = 0; tick < 60 * 600; tick++) {
+            int sizeBefore = blocks.size();
+            int scoreBefore = simulation.getScore();
+            int buttons = (tick / 45 & 1) == 0 ? TickInput.LEFT : TickInput.RIGHT;
+            simulation.tick(TickInput.pack(buttons, 0));
+
+            int size = blocks.size();
+            int dirty = Math.min(blocks.getDirtyFrom(), size);
+            if (!simulation.isLost() && simulation.getScore() == scoreBefore) {
+                // Sin bloques verdes juntados solo cambian los que se agregaron arriba
+                int kept = sizeBefore - blocks.getRemovedFromStart();
+                assertEquals(kept, dirty, "Tick " + tick + ": se sube desde " + dirty + " con " + kept + " bloques sin cambios");
+                checkedTicks++;
+            }
+            uploaded += size - dirty;
+            sizeSum += size;
+            blocks.clearDirty();
+            if (simulation.isLost()) {
+                simulation.reset(++seed);
+                blocks.clearDirty();
+            }
+        }
+        assertTrue(checkedTicks > 10_000);
+        assertTrue(uploaded * 20 < sizeSum, "Se subieron " + uploaded + " bloques para " + sizeSum + " dibujados");
+    }
+}
@@ -0,0 +1,38 @@
+package com.toro.colordodge.sim;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Al perder, el mundo queda como se dibuja durante la explosión: sin bloques
+ * marcados para eliminar (un verde juntado en el mismo tick que el choque)
+ */
+class LossStateTest {
+
+    private static final int SEEDS = 1000;
+    private static final int MAX_TICKS = 60 * 120;
+
+    @Test
+    void noDeadBlocksAfterLoss() {
+        GameSimulation simulation = new GameSimulation(new GameConfig(1080, 1920), 0);
+        int losses = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            simulation.reset(seed);
+            for (int tick = 0; tick < MAX_TICKS && !simulation.isLost(); tick++) {
+                // Se queda quieta al principio y después va de un lado al otro (choca con verdes y blancos)
+                int buttons = tick < 60 ? 0 : (tick / 45 & 1) == 0 ? TickInput.LEFT : TickInput.RIGHT;
+                simulation.tick(TickInput.pack(buttons, 0));
+            }
+            if (!simulation.isLost()) continue;
+            losses++;
+            BlockWorld blocks = simulation.getBlocks();
+            for (int i = 0, n = blocks.size(); i < n; i++) {
+                byte type = blocks.type(i);
+                assertTrue(type == BlockWorld.TYPE_WHITE || type == BlockWorld.TYPE_GREEN,
+                    "Semilla " + seed + ": bloque " + i + " de tipo " + type + " después de perder");
+            }
+        }
+        assertTrue(losses > SEEDS / 2, "Muy pocas partidas perdidas para probar algo: " + losses);
+    }
+}
@@ -0,0 +1,40 @@
+package com.toro.colordodge.lwjgl3;
+
+import com.toro.colordodge.net.GhostNet;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Carrera de fantasmas en red local (-Dcolordodge.ghost=...)
+ * <p>
+ * El valor es el puerto propio y, opcionalmente, las direcciones de los otros
+ * jugadores: "7000" o "7001,192.168.0.10:7000". Con un compañero conocido
+ * alcanza (el otro lo aprende al recibir el primer paquete). Todos deben usar
+ * la misma semilla (-Dcolordodge.ghostSeed, 1 si no se indica)
+ */
+final class GhostRace {
+
+    static final String PROPERTY = "colordodge.ghost";
+    static final String SEED_PROPERTY = "colordodge.ghostSeed";
+
+    private GhostRace() {
+    }
+
+    /**
+     * Red de la carrera indicada en la propiedad del sistema, o null si no hay ninguna
+     */
+    static GhostNet fromSystemProperty() throws IOException {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isEmpty()) return null;
+        String[] parts = value.split(",");
+        long seed = Long.parseLong(System.getProperty(SEED_PROPERTY, "1"));
+        GhostNet net = new GhostNet(Integer.parseInt(parts[0].trim()), seed);
+        for (int i = 1; i < parts.length; i++) {
+            String peer = parts[i].trim();
+            int colon = peer.lastIndexOf(':');
+            if (colon < 0) throw new IllegalArgumentException("Falta el puerto en " + peer);
+            net.addPeer(new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1))));
+        }
+        return net;
+    }
+}
@@ -2,17 +2,26 @@ package com.toro.colordodge.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3NativesLoader;
 import com.toro.colordodge.MainGame;
+import java.io.IOException;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        StartupTrace.mainStarted();
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        // Loading the natives here (Lwjgl3Application skips it if already done) lets StartupTrace time it separately.
+        Lwjgl3NativesLoader.load();
+        StartupTrace.nativesLoaded();
+        MainGame game = new MainGame();
+        game.setScript(ScriptedRun.fromSystemProperty()); // Only set for training runs (-Dcolordodge.script).
+        game.setGhostRace(GhostRace.fromSystemProperty()); // Only set for LAN ghost races (-Dcolordodge.ghost).
+        createApplication(game);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new MainGame(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(MainGame game) {
+        return new Lwjgl3Application(StartupTrace.wrap(game), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -0,0 +1,51 @@
+package com.toro.colordodge.lwjgl3;
+
+import com.toro.colordodge.sim.GameConfig;
+import com.toro.colordodge.sim.Replay;
+import com.toro.colordodge.sim.TickInput;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Partida guionada para ejecuciones de entrenamiento (-Dcolordodge.script=...)
+ * <p>
+ * "training" genera siempre la misma partida (semilla fija y la bola yendo de
+ * un lado a otro), así las tareas cdsArchive, nativeTrace y nativeProfile son
+ * reproducibles sin guardar archivos binarios. Cualquier otro valor es la ruta
+ * de una repetición grabada (por ejemplo ~/.colordodge/last-run.cdr)
+ */
+final class ScriptedRun {
+
+    static final String PROPERTY = "colordodge.script";
+    private static final String TRAINING = "training";
+
+    private static final long TRAINING_SEED = 42;
+    private static final int TRAINING_TICKS = 60 * 60;   // Un minuto como máximo (si no pierde antes)
+
+    private ScriptedRun() {
+    }
+
+    /**
+     * Partida indicada en la propiedad del sistema, o null si no hay ninguna
+     */
+    static Replay fromSystemProperty() throws IOException {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isEmpty()) return null;
+        if (TRAINING.equals(value)) return training();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(value))) {
+            return Replay.read(in);
+        }
+    }
+
+    private static Replay training() {
+        // Mismo tamaño que la ventana de Lwjgl3Launcher
+        Replay replay = new Replay(new GameConfig(640, 480), TRAINING_SEED);
+        int[] pattern = {TickInput.LEFT, 0, TickInput.RIGHT, TickInput.RIGHT, 0, TickInput.LEFT};
+        for (int tick = 0; tick < TRAINING_TICKS; tick++) {
+            replay.record(TickInput.pack(pattern[tick / 45 % pattern.length], 0));
+        }
+        return replay;
+    }
+}
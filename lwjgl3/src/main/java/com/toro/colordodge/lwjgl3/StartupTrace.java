@@ -0,0 +1,160 @@
+package com.toro.colordodge.lwjgl3;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.toro.colordodge.MainGame;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Mide el arranque en escritorio, desde que arranca la JVM hasta que se ve la
+ * pantalla de inicio, y lo escribe en el log en una sola línea:
+ * relanzamiento (si StartupHelper tuvo que abrir otra JVM), jvm (hasta main),
+ * nativos, contexto GL (ventana creada), create, primer frame e imagen de inicio.
+ * Al cerrar escribe el pico de memoria residente del proceso (solo en Linux)
+ * <p>
+ * Con -Dcolordodge.trainingFrames=N el juego se cierra solo N frames después de
+ * mostrar la imagen de inicio; así lo usa la tarea cdsArchive para generar el
+ * archivo de Class Data Sharing con una ejecución de entrenamiento
+ */
+final class StartupTrace {
+
+    /** Momento (ms desde epoch) en que arrancó la primera JVM, si StartupHelper relanzó */
+    static final String LAUNCH_START_PROPERTY = "colordodge.launchStart";
+    private static final String TRAINING_FRAMES_PROPERTY = "colordodge.trainingFrames";
+
+    // === MARCAS (System.nanoTime, en orden) ===
+    private static final int MAIN = 0;
+    private static final int NATIVES = 1;
+    private static final int CONTEXT = 2;
+    private static final int CREATED = 3;
+    private static final int FIRST_FRAME = 4;
+    private static final int SCREEN = 5;
+    private static final String[] PHASE_NAMES = {"jvm", "nativos", "contexto GL", "create", "primer frame", "imagen de inicio"};
+    private static final long[] marks = new long[PHASE_NAMES.length];
+    private static long mainEpochMillis;
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Primera línea de main()
+     */
+    static void mainStarted() {
+        marks[MAIN] = System.nanoTime();
+        mainEpochMillis = System.currentTimeMillis();
+    }
+
+    static void nativesLoaded() {
+        marks[NATIVES] = System.nanoTime();
+    }
+
+    /**
+     * Envuelve el juego para marcar el contexto GL, create, el primer frame y la
+     * imagen de inicio sin tocar MainGame
+     */
+    static ApplicationListener wrap(MainGame game) {
+        return new TracedGame(game);
+    }
+
+    private static void log() {
+        StringBuilder line = new StringBuilder(160);
+        long launchStart = Long.getLong(LAUNCH_START_PROPERTY, -1);
+        long jvmStart = processStartMillis();
+        long total = mainEpochMillis - (launchStart >= 0 ? launchStart : jvmStart)
+            + (marks[SCREEN] - marks[MAIN]) / 1_000_000;
+        line.append("Arranque: ").append(total).append(" ms hasta la imagen de inicio | relanzamiento ");
+        if (launchStart >= 0) line.append(jvmStart - launchStart).append(" ms");
+        else line.append("no");
+        line.append(" | jvm ").append(mainEpochMillis - jvmStart).append(" ms");
+        for (int m = NATIVES; m < marks.length; m++) {
+            line.append(" | ").append(PHASE_NAMES[m]).append(' ')
+                .append((marks[m] - marks[m - 1]) / 1_000_000).append(" ms");
+        }
+        Gdx.app.log("ColorDodge", line.toString());
+    }
+
+    /**
+     * Inicio de este proceso según el sistema operativo (resolución de unos ms)
+     */
+    private static long processStartMillis() {
+        Optional<Instant> start = ProcessHandle.current().info().startInstant();
+        return start.isPresent() ? start.get().toEpochMilli() : mainEpochMillis;
+    }
+
+    /**
+     * Pico de memoria residente (VmHWM) en MB, o -1 si el sistema no lo informa
+     */
+    private static long peakResidentMegabytes() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // No es Linux o no se puede leer: no se informa
+        }
+        return -1;
+    }
+
+    private static final class TracedGame implements ApplicationListener {
+
+        private final MainGame game;
+        private final int trainingFrames = Integer.getInteger(TRAINING_FRAMES_PROPERTY, -1);
+        private boolean traced;              // true después de escribir el log
+        private int framesSinceScreen;
+
+        TracedGame(MainGame game) {
+            this.game = game;
+        }
+
+        @Override
+        public void create() {
+            marks[CONTEXT] = System.nanoTime();  // La ventana y el contexto GL ya existen
+            game.create();
+            marks[CREATED] = System.nanoTime();
+        }
+
+        @Override
+        public void render() {
+            game.render();
+            if (!traced) {
+                long now = System.nanoTime();
+                if (marks[FIRST_FRAME] == 0) marks[FIRST_FRAME] = now;
+                if (game.hasShownScreenImage()) {
+                    marks[SCREEN] = now;
+                    traced = true;
+                    log();
+                }
+            } else if (trainingFrames >= 0 && ++framesSinceScreen >= trainingFrames) {
+                Gdx.app.exit();
+            }
+        }
+
+        @Override
+        public void resize(int width, int height) {
+            game.resize(width, height);
+        }
+
+        @Override
+        public void pause() {
+            game.pause();
+        }
+
+        @Override
+        public void resume() {
+            game.resume();
+        }
+
+        @Override
+        public void dispose() {
+            game.dispose();
+            long peak = peakResidentMegabytes();
+            if (peak >= 0) Gdx.app.log("ColorDodge", "Memoria: pico residente " + peak + " MB");
+        }
+    }
+}